@@ -0,0 +1,78 @@
+package com.wms.customer.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings; concurrent {@link #put} and {@link #mightContain} calls are safe.
+ */
+public final class BloomFilter {
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.numBits = (long) wordCount * 64;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long h = hash(value);
+        long h2 = Long.rotateLeft(h, 32) | 1;
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = index(h + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long prev;
+            do {
+                prev = words.get(word);
+                if ((prev & mask) != 0) break;
+            } while (!words.compareAndSet(word, prev, prev | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h = hash(value);
+        long h2 = Long.rotateLeft(h, 32) | 1;
+        for (int i = 1; i <= numHashes; i++) {
+            long bit = index(h + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /** Estimated false-positive probability from the current fill ratio. */
+    public double expectedFpp() {
+        long set = 0;
+        for (int i = 0; i < words.length(); i++) set += Long.bitCount(words.get(i));
+        return Math.pow((double) set / numBits, numHashes);
+    }
+
+    public long bitSize() {
+        return numBits;
+    }
+
+    /** Probe {@code i} is {@code h + i * h2} over all 64 bits, reduced without masking any of them away. */
+    private long index(long combined) {
+        return Math.floorMod(combined, numBits);
+    }
+
+    /** 64-bit FNV-1a over the UTF-8 bytes, finalised with the murmur3 mixer for better bit dispersion. */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a85ec3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,187 @@
+package com.wms.customer.cache;
+
+import com.wms.customer.config.CustomerSnapshotCacheProperties;
+import com.wms.customer.repository.MstCustomerRepository;
+import com.wms.customer.repository.projection.CustomerSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache of {@link CustomerSnapshot}s keyed by customer id, bounded by {@code max-size} and by {@code ttl}.
+ * Writes made through this instance update or drop the entry straight away; the TTL bounds how long a change made
+ * elsewhere can go unseen.
+ * <p>
+ * Entries live in a concurrent map. A miss first parks a placeholder for its key and stores the loaded row only by
+ * replacing that same placeholder; writes replace or remove whatever the key holds, so a read that fetched the old row
+ * cannot store it over a concurrent write, and writes to other keys do not hold it up. Past {@code max-size}, one
+ * thread at a time sweeps out placeholders and the least recently read entries.
+ */
+@Component
+public class CustomerSnapshotCache {
+    /** Rough per-entry overhead: map node, key UUID, holder and snapshot object headers, UUID and LocalDate fields. */
+    private static final int ENTRY_OVERHEAD_BYTES = 240;
+    /** Compact (Latin-1) String: header, array header and hash fields, plus one byte per char. */
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    /** Share of {@code max-size} a sweep trims down to, so sweeps do not run on every insert. */
+    private static final double SWEEP_TARGET = 0.9;
+
+    private final MstCustomerRepository repository;
+    private final CustomerSnapshotCacheProperties props;
+    private final ConcurrentHashMap<UUID, Entry> cache = new ConcurrentHashMap<>();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Clock clock;
+    private volatile long averageEntryBytes = ENTRY_OVERHEAD_BYTES;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter expirations;
+
+    @Autowired
+    public CustomerSnapshotCache(MstCustomerRepository repository, CustomerSnapshotCacheProperties props, MeterRegistry registry) {
+        this(repository, props, registry, Clock.systemUTC());
+    }
+
+    CustomerSnapshotCache(MstCustomerRepository repository, CustomerSnapshotCacheProperties props, MeterRegistry registry, Clock clock) {
+        this.repository = repository;
+        this.props = props;
+        this.clock = clock;
+
+        String name = "customer.snapshot.cache";
+        this.hits = Counter.builder(name).tag("result", "hit").register(registry);
+        this.misses = Counter.builder(name).tag("result", "miss").register(registry);
+        this.expirations = Counter.builder(name + ".evictions").tag("cause", "expired").register(registry);
+        FunctionCounter.builder(name + ".evictions", evictions, AtomicLong::get).tag("cause", "size").register(registry);
+        Gauge.builder(name + ".size", cache, ConcurrentHashMap::size).register(registry);
+        Gauge.builder(name + ".hit.ratio", this, CustomerSnapshotCache::hitRatio)
+                .description("Share of kyc-status reads answered without a database query")
+                .register(registry);
+        Gauge.builder(name + ".memory", this, CustomerSnapshotCache::estimatedBytes)
+                .description("Estimated heap held by cached snapshots")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    public Optional<CustomerSnapshot> get(UUID customerId) {
+        if (!props.isEnabled()) return repository.findSnapshotById(customerId);
+        long now = clock.millis();
+        Entry entry = cache.get(customerId);
+        if (entry != null && entry.snapshot != null) {
+            if (entry.expiresAtMillis > now) {
+                entry.lastReadMillis = now;
+                hits.increment();
+                return Optional.of(entry.snapshot);
+            }
+            if (cache.remove(customerId, entry)) expirations.increment();
+        }
+        Entry parked = cache.computeIfAbsent(customerId, id -> Entry.placeholder(now));
+        if (parked.snapshot != null && parked.expiresAtMillis > now) {
+            // Stored by a concurrent load since the lookup above
+            hits.increment();
+            return Optional.of(parked.snapshot);
+        }
+        misses.increment();
+        boolean stored = false;
+        try {
+            Optional<CustomerSnapshot> loaded = repository.findSnapshotById(customerId);
+            if (loaded.isPresent() && parked.snapshot == null) {
+                stored = cache.replace(customerId, parked, entry(loaded.get(), now));
+                if (stored) sweepIfFull(now);
+            }
+            return loaded;
+        } finally {
+            if (!stored) cache.remove(customerId, parked);
+        }
+    }
+
+    /** Applies a committed change to the cached snapshot, if one is cached; otherwise only fences in-flight loads. */
+    public void update(UUID customerId, UnaryOperator<CustomerSnapshot> change) {
+        long now = clock.millis();
+        cache.computeIfPresent(customerId, (id, entry) -> entry.snapshot != null && entry.expiresAtMillis > now
+                ? entry(change.apply(entry.snapshot), now)
+                : null);
+    }
+
+    public void invalidate(UUID customerId) {
+        cache.remove(customerId);
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private Entry entry(CustomerSnapshot s, long now) {
+        long bytes = ENTRY_OVERHEAD_BYTES + stringBytes(s.getName()) + stringBytes(s.getEmail())
+                + stringBytes(s.getNik()) + stringBytes(s.getPob());
+        averageEntryBytes = (averageEntryBytes * 15 + bytes) / 16;
+        Entry entry = new Entry(s, now + props.getTtl().toMillis());
+        entry.lastReadMillis = now;
+        return entry;
+    }
+
+    private void sweepIfFull(long now) {
+        if (cache.size() <= props.getMaxSize() || !sweepLock.tryLock()) return;
+        try {
+            List<Map.Entry<UUID, Entry>> live = new ArrayList<>(cache.size());
+            for (Map.Entry<UUID, Entry> e : cache.entrySet()) {
+                Entry entry = e.getValue();
+                // A placeholder removed under a running load only makes that load skip caching
+                if (entry.snapshot == null || entry.expiresAtMillis <= now) cache.remove(e.getKey(), entry);
+                else live.add(Map.entry(e.getKey(), entry));
+            }
+            int excess = live.size() - (int) (props.getMaxSize() * SWEEP_TARGET);
+            if (excess <= 0) return;
+            live.sort(Comparator.comparingLong(e -> e.getValue().lastReadMillis));
+            for (int i = 0; i < excess; i++) {
+                if (cache.remove(live.get(i).getKey(), live.get(i).getValue())) evictions.incrementAndGet();
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    private static long stringBytes(String s) {
+        return s == null ? 0 : STRING_OVERHEAD_BYTES + s.length();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? Double.NaN : hits.count() / total;
+    }
+
+    private double estimatedBytes() {
+        return (double) cache.size() * averageEntryBytes;
+    }
+
+    /** Compared by identity: a load stores its row only if the exact placeholder it parked is still in place. */
+    private static final class Entry {
+        final CustomerSnapshot snapshot;
+        final long expiresAtMillis;
+        volatile long lastReadMillis;
+
+        Entry(CustomerSnapshot snapshot, long expiresAtMillis) {
+            this.snapshot = snapshot;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        static Entry placeholder(long now) {
+            return new Entry(null, now);
+        }
+    }
+}
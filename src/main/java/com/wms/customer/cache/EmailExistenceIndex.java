@@ -0,0 +1,197 @@
+package com.wms.customer.cache;
+
+import com.wms.customer.config.EmailIndexProperties;
+import com.wms.customer.entity.EntityNames;
+import com.wms.customer.repository.MstCustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Answers "is this email registered?" from memory where possible: a Bloom filter of registered emails rules out
+ * unknown addresses without touching Postgres, and an LRU of database-confirmed emails short-circuits repeats.
+ * Only Bloom positives that are not in the LRU fall through to {@link MstCustomerRepository#existsByEmail}.
+ * <p>
+ * Keys are the email exactly as stored, the same way the unique constraint and the login lookup compare it, so an
+ * answer from memory can never disagree with the database about what counts as the same address.
+ * <p>
+ * The filter is warm-loaded once the application is ready. Registrations on this replica are added directly and
+ * those on other replicas arrive over the cache invalidation bus, so the scheduled rebuild (hourly by default) only
+ * picks up rows written outside this service and sheds deleted emails, which a Bloom filter cannot remove. A
+ * transport gap requests an early rebuild. Registrations recorded while a rebuild is scanning go into both filters,
+ * so the swap cannot lose them. Each rebuild also empties the LRU as its scan starts, so an email deleted upstream
+ * is confirmed again rather than reported taken forever. Until the first load completes every lookup goes to the
+ * database.
+ */
+@Slf4j
+@Component
+public class EmailExistenceIndex {
+    private static final String LOAD_SQL = "select " + EntityNames.MstCustomer.EMAIL + " from " + EntityNames.MST_CUSTOMER;
+
+    private final MstCustomerRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EmailIndexProperties props;
+    private final BoundedCache<String, Boolean> confirmed;
+
+    /** Orders {@link #recordRegistered} against the swap, so an add lands in the filter that survives it. */
+    private final Object swapLock = new Object();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private volatile BloomFilter filter;
+    private BloomFilter building;
+
+    private final AtomicLong bloomNegatives = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong dbPositives = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final Counter bypassed;
+
+    public EmailExistenceIndex(MstCustomerRepository repository, JdbcTemplate jdbcTemplate,
+                               EmailIndexProperties props, MeterRegistry registry) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.props = props;
+        this.confirmed = new BoundedCache<>(props.getPositiveCacheSize());
+
+        String name = "customer.email.index.lookups";
+        FunctionCounter.builder(name, bloomNegatives, AtomicLong::get).tag("result", "bloom_negative").register(registry);
+        FunctionCounter.builder(name, cacheHits, AtomicLong::get).tag("result", "cache_hit").register(registry);
+        FunctionCounter.builder(name, dbPositives, AtomicLong::get).tag("result", "db_positive").register(registry);
+        FunctionCounter.builder(name, falsePositives, AtomicLong::get).tag("result", "false_positive").register(registry);
+        this.bypassed = Counter.builder(name).tag("result", "bypassed").register(registry);
+        Gauge.builder("customer.email.index.hit.ratio", this, EmailExistenceIndex::hitRatio)
+                .description("Share of lookups answered without a database query")
+                .register(registry);
+        Gauge.builder("customer.email.index.false.positive.rate", this, EmailExistenceIndex::observedFalsePositiveRate)
+                .description("Observed share of unregistered emails the Bloom filter failed to rule out")
+                .register(registry);
+        Gauge.builder("customer.email.index.expected.fpp", this, i -> i.filter != null ? i.filter.expectedFpp() : Double.NaN)
+                .description("False-positive probability implied by the current filter fill")
+                .register(registry);
+    }
+
+    public boolean exists(String email) {
+        BloomFilter f = filter;
+        if (!props.isEnabled() || f == null || email == null) {
+            bypassed.increment();
+            return repository.existsByEmail(email);
+        }
+        if (!f.mightContain(email)) {
+            bloomNegatives.incrementAndGet();
+            return false;
+        }
+        if (confirmed.get(email) != null) {
+            cacheHits.incrementAndGet();
+            return true;
+        }
+        boolean exists = repository.existsByEmail(email);
+        if (exists) {
+            dbPositives.incrementAndGet();
+            confirmed.put(email, Boolean.TRUE);
+        } else {
+            falsePositives.incrementAndGet();
+        }
+        return exists;
+    }
+
+    /** Records a successful registration so the next lookup for this email is answered from memory. */
+    public void recordRegistered(String email) {
+        if (email == null) return;
+        synchronized (swapLock) {
+            BloomFilter f = filter;
+            if (f != null) f.put(email);
+            if (building != null) building.put(email);
+        }
+        confirmed.put(email, Boolean.TRUE);
+    }
+
+    /**
+     * Asks for a rebuild on the next stale check, e.g. after invalidations from other replicas may have been missed.
+     */
+    public void requestRebuild() {
+        stale.set(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (props.isEnabled()) rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${customer.email-index.stale-check-interval:PT30S}",
+            initialDelayString = "${customer.email-index.stale-check-interval:PT30S}")
+    public void rebuildIfStale() {
+        if (stale.getAndSet(false)) rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${customer.email-index.rebuild-interval:PT1H}",
+            initialDelayString = "${customer.email-index.rebuild-interval:PT1H}")
+    public void rebuild() {
+        if (!props.isEnabled()) return;
+        // A rebuild already scanning will do; a second would only repeat the table scan
+        if (!rebuildLock.tryLock()) return;
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void doRebuild() {
+        long started = System.nanoTime();
+        BloomFilter next = new BloomFilter(props.getExpectedInsertions(), props.getFalsePositiveRate());
+        synchronized (swapLock) {
+            building = next;
+            // Entries confirmed from here on are at least as fresh as the scan the new filter is built from
+            confirmed.clear();
+        }
+        try {
+            AtomicLong rows = new AtomicLong();
+            jdbcTemplate.query(con -> {
+                var ps = con.prepareStatement(LOAD_SQL);
+                ps.setFetchSize(10_000);
+                return ps;
+            }, rs -> {
+                String email = rs.getString(1);
+                if (email != null) next.put(email);
+                rows.incrementAndGet();
+            });
+            synchronized (swapLock) {
+                filter = next;
+                building = null;
+            }
+            log.info("Email index loaded: rows={}, bits={}, expectedFpp={}, tookMs={}",
+                    rows.get(), next.bitSize(), String.format("%.5f", next.expectedFpp()), (System.nanoTime() - started) / 1_000_000);
+            if (rows.get() > props.getExpectedInsertions()) {
+                log.warn("Email index holds {} rows, above expectedInsertions={}; raise it to keep the false-positive rate down",
+                        rows.get(), props.getExpectedInsertions());
+            }
+        } catch (RuntimeException e) {
+            synchronized (swapLock) {
+                building = null;
+            }
+            log.warn("Email index rebuild failed, keeping previous state: {}", e.getMessage());
+        }
+    }
+
+    private double hitRatio() {
+        long memory = bloomNegatives.get() + cacheHits.get();
+        long total = memory + dbPositives.get() + falsePositives.get() + (long) bypassed.count();
+        return total == 0 ? Double.NaN : (double) memory / total;
+    }
+
+    private double observedFalsePositiveRate() {
+        long negatives = bloomNegatives.get() + falsePositives.get();
+        return negatives == 0 ? Double.NaN : (double) falsePositives.get() / negatives;
+    }
+}
@@ -0,0 +1,112 @@
+package com.wms.customer.cache;
+
+import com.wms.customer.config.RiskProfileCatalogProperties;
+import com.wms.customer.entity.MstRiskProfileRef;
+import com.wms.customer.repository.MstRiskProfileRefRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fully preloaded, immutable snapshot of {@code mst_riskprofiles}, so resolving a profile type costs a map lookup.
+ * <p>
+ * The snapshot is swapped as a whole on a schedule, on {@link RiskProfileCatalogInvalidatedEvent}, or when a lookup
+ * misses (a profile added since the last load), the latter at most once per {@code miss-reload-interval}.
+ */
+@Slf4j
+@Component
+public class RiskProfileCatalog {
+    private final MstRiskProfileRefRepository repository;
+    private final RiskProfileCatalogProperties props;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer refreshTimer;
+
+    private volatile Map<UUID, String> profileTypes = Map.of();
+    private volatile long lastAttemptNanos;
+    private volatile boolean attempted;
+
+    public RiskProfileCatalog(MstRiskProfileRefRepository repository, RiskProfileCatalogProperties props, MeterRegistry registry) {
+        this.repository = repository;
+        this.props = props;
+        this.hits = Counter.builder("customer.risk.profile.catalog.lookups").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("customer.risk.profile.catalog.lookups").tag("result", "miss").register(registry);
+        this.refreshTimer = Timer.builder("customer.risk.profile.catalog.refresh")
+                .description("Time taken to reload the risk profile snapshot")
+                .register(registry);
+        Gauge.builder("customer.risk.profile.catalog.size", this, c -> c.profileTypes.size()).register(registry);
+    }
+
+    /** Returns the profile type for a risk profile id, or {@code null} when the id is unknown. */
+    public String profileType(UUID riskProfileId) {
+        if (riskProfileId == null) return null;
+        String type = profileTypes.get(riskProfileId);
+        if (type != null || profileTypes.containsKey(riskProfileId)) {
+            hits.increment();
+            return type;
+        }
+        misses.increment();
+        if (reloadAfterMiss()) {
+            return profileTypes.get(riskProfileId);
+        }
+        return null;
+    }
+
+    public boolean contains(UUID riskProfileId) {
+        if (riskProfileId == null) return false;
+        if (profileTypes.containsKey(riskProfileId)) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        return reloadAfterMiss() && profileTypes.containsKey(riskProfileId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    @EventListener(RiskProfileCatalogInvalidatedEvent.class)
+    public void onInvalidated(RiskProfileCatalogInvalidatedEvent event) {
+        log.info("Risk profile catalog invalidated: {}", event.reason());
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${customer.risk-profile-catalog.refresh-interval:PT5M}",
+            initialDelayString = "${customer.risk-profile-catalog.refresh-interval:PT5M}")
+    public void refresh() {
+        try {
+            refreshTimer.record(() -> {
+                Map<UUID, String> next = new HashMap<>();
+                for (MstRiskProfileRef ref : repository.findAll()) {
+                    next.put(ref.getRiskProfileId(), ref.getProfileType());
+                }
+                profileTypes = Collections.unmodifiableMap(next);
+            });
+            log.debug("Risk profile catalog loaded: size={}", profileTypes.size());
+        } catch (RuntimeException e) {
+            log.warn("Risk profile catalog refresh failed, keeping previous snapshot: {}", e.getMessage());
+        } finally {
+            lastAttemptNanos = System.nanoTime();
+            attempted = true;
+        }
+    }
+
+    private synchronized boolean reloadAfterMiss() {
+        if (attempted && System.nanoTime() - lastAttemptNanos < props.getMissReloadInterval().toNanos()) return false;
+        refresh();
+        return true;
+    }
+}
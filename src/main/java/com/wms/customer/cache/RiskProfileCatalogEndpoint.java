@@ -0,0 +1,30 @@
+package com.wms.customer.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code POST /actuator/riskprofilecatalog} for operators to call after changing {@code mst_riskprofiles}, which this
+ * service only reads. Publishes {@link RiskProfileCatalogInvalidatedEvent}: the local catalog reloads at once and the
+ * invalidation bus carries the reload to the other replicas.
+ * <p>
+ * Not exposed over HTTP by default: there is no authentication in front of the actuator, and every call fans out a
+ * reload to all replicas. Add it to {@code management.endpoints.web.exposure.include} only together with a management
+ * port ({@code management.server.port}) that is reachable from the operators' network alone.
+ */
+@Component
+@Endpoint(id = "riskprofilecatalog")
+public class RiskProfileCatalogEndpoint {
+    private final ApplicationEventPublisher events;
+
+    public RiskProfileCatalogEndpoint(ApplicationEventPublisher events) {
+        this.events = events;
+    }
+
+    @WriteOperation
+    public void reload() {
+        events.publishEvent(new RiskProfileCatalogInvalidatedEvent("reload requested"));
+    }
+}
@@ -0,0 +1,7 @@
+package com.wms.customer.cache;
+
+/**
+ * Application event asking {@link RiskProfileCatalog} to reload, published by {@link RiskProfileCatalogEndpoint} once
+ * risk profile master data has changed.
+ */
+public record RiskProfileCatalogInvalidatedEvent(String reason) {}
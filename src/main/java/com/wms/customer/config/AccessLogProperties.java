@@ -0,0 +1,23 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Configuration properties for the per-request access log written by {@code AccessLogFilter}.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "customer.access-log")
+public class AccessLogProperties {
+    private boolean enabled = true;
+    /** Share of 2xx responses that are logged; errors and slow requests are always logged. */
+    private double successSampleRate = 0.1;
+    private long slowThresholdMillis = 500;
+    private List<String> excludePathPrefixes = List.of("/actuator");
+}
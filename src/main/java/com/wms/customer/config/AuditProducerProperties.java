@@ -0,0 +1,76 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tuning profile for the audit Kafka producer. A named {@link Profile} supplies the baseline and any explicitly
+ * configured field overrides it; settings not covered here fall back to {@code spring.kafka.producer.*}.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "kafka.audit-producer")
+public class AuditProducerProperties {
+    private Profile profile = Profile.THROUGHPUT;
+    private String acks;
+    private Integer retries;
+    private Boolean idempotence;
+    private Integer lingerMs;
+    private Integer batchSize;
+    /** none, gzip, snappy, lz4 or zstd. */
+    private String compressionType;
+    private Integer maxInFlightRequestsPerConnection;
+    private Integer deliveryTimeoutMs;
+    /** Bounds how long send() may block on metadata or a full buffer; only the audit drainer thread waits on it. */
+    private Integer maxBlockMs;
+
+    public Map<String, Object> toProducerConfig() {
+        Map<String, Object> cfg = new HashMap<>(profile.settings);
+        putIfSet(cfg, ProducerConfig.ACKS_CONFIG, acks);
+        putIfSet(cfg, ProducerConfig.RETRIES_CONFIG, retries);
+        putIfSet(cfg, ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence);
+        putIfSet(cfg, ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        putIfSet(cfg, ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        putIfSet(cfg, ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        putIfSet(cfg, ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlightRequestsPerConnection);
+        putIfSet(cfg, ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+        putIfSet(cfg, ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+        return cfg;
+    }
+
+    private static void putIfSet(Map<String, Object> cfg, String key, Object value) {
+        if (value != null) cfg.put(key, value);
+    }
+
+    public enum Profile {
+        /** Kafka client defaults; only the shared spring.kafka.producer settings apply. */
+        DEFAULT(Map.of()),
+        /**
+         * Idempotent, ordered delivery with larger, compressed batches. Idempotence requires acks=all and at most
+         * five in-flight requests, which keeps per-key ordering across retries.
+         */
+        THROUGHPUT(Map.of(
+                ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+                ProducerConfig.ACKS_CONFIG, "all",
+                ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE,
+                ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5,
+                ProducerConfig.LINGER_MS_CONFIG, 20,
+                ProducerConfig.BATCH_SIZE_CONFIG, 131_072,
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4",
+                ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 120_000,
+                ProducerConfig.MAX_BLOCK_MS_CONFIG, 5_000));
+
+        private final Map<String, Object> settings;
+
+        Profile(Map<String, Object> settings) {
+            this.settings = settings;
+        }
+    }
+}
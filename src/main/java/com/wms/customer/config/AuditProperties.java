@@ -0,0 +1,52 @@
+package com.wms.customer.config;
+
+import com.wms.customer.kafka.AuditFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the asynchronous audit pipeline: in-memory buffer, batching and local spill file.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+    /** Topic used in JSON format when {@link #topics} is empty. */
+    private String topic = "audit.events";
+    /**
+     * Topics every audit event is published to, each in its own format. Listing a JSON and a BINARY topic side by side
+     * lets consumers migrate before the JSON topic is retired.
+     */
+    private List<TopicRoute> topics = new ArrayList<>();
+    private String serviceName = "customer-service";
+    private int bufferCapacity = 8192;
+    private int batchSize = 256;
+    /** Append-only file receiving events that could not be buffered or delivered. */
+    private String spillPath = "./data/audit-spill.log";
+    /** How often the drainer probes a failed broker and replays the spill file. */
+    private long replayIntervalMillis = 30_000;
+
+    public List<TopicRoute> effectiveTopics() {
+        return topics.isEmpty() ? List.of(new TopicRoute(topic, AuditFormat.JSON)) : topics;
+    }
+
+    @Getter
+    @Setter
+    public static class TopicRoute {
+        private String name;
+        private AuditFormat format = AuditFormat.JSON;
+
+        public TopicRoute() {}
+
+        public TopicRoute(String name, AuditFormat format) {
+            this.name = name;
+            this.format = format;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.wms.customer.config;
+
+import com.wms.customer.invalidation.InvalidationTransport;
+import com.wms.customer.invalidation.KafkaInvalidationTransport;
+import com.wms.customer.invalidation.LocalInvalidationTransport;
+import com.wms.customer.invalidation.PostgresInvalidationTransport;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DriverManager;
+
+/**
+ * Selects the cache invalidation transport from {@code customer.invalidation.transport}; an application-defined
+ * {@link InvalidationTransport} bean takes precedence.
+ */
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(InvalidationTransport.class)
+    public InvalidationTransport invalidationTransport(CacheInvalidationProperties props,
+                                                      ObjectProvider<DataSourceProperties> dataSourceProperties,
+                                                      ObjectProvider<JdbcTemplate> jdbcTemplate,
+                                                      ObjectProvider<KafkaProperties> kafkaProperties) {
+        return switch (props.getTransport()) {
+            case LOCAL -> new LocalInvalidationTransport();
+            case POSTGRES -> new PostgresInvalidationTransport(listenConnections(dataSourceProperties.getObject()),
+                    jdbcTemplate.getObject(), props.getPostgres().getChannel(), props.getPostgres().getReconnectBackoff());
+            case KAFKA -> new KafkaInvalidationTransport(kafkaProperties.getObject(), props.getKafka().getTopic(),
+                    props.getKafka().getReconnectBackoff());
+        };
+    }
+
+    /** Straight from the driver: a LISTEN connection is held for good, so it must not occupy a slot in the pool. */
+    private static PostgresInvalidationTransport.ListenConnectionFactory listenConnections(DataSourceProperties ds) {
+        String url = ds.determineUrl();
+        String username = ds.determineUsername();
+        String password = ds.determinePassword();
+        return () -> DriverManager.getConnection(url, username, password);
+    }
+}
@@ -0,0 +1,53 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for broadcasting cache invalidations between replicas.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "customer.invalidation")
+public class CacheInvalidationProperties {
+    private boolean enabled = true;
+    private Transport transport = Transport.LOCAL;
+    /** How long invalidations are collected and coalesced before being sent as one message. */
+    private Duration flushInterval = Duration.ofMillis(50);
+    private int maxBatchSize = 200;
+    /** Encoded size limit per message; PostgreSQL rejects NOTIFY payloads of 8000 bytes or more. */
+    private int maxPayloadBytes = 7_900;
+    /** Pending ids per entity beyond which they collapse into a single "invalidate all" for that entity. */
+    private int maxPending = 10_000;
+    private Postgres postgres = new Postgres();
+    private Kafka kafka = new Kafka();
+
+    @Getter
+    @Setter
+    public static class Postgres {
+        private String channel = "customer_cache_invalidation";
+        private Duration reconnectBackoff = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Kafka {
+        private String topic = "customer.cache.invalidation";
+        /** Wait before recreating the consumer after an error; the recreation is reported as a gap. */
+        private Duration reconnectBackoff = Duration.ofSeconds(5);
+    }
+
+    public enum Transport {
+        /** In-process only: single-instance deployments and tests. */
+        LOCAL,
+        /** {@code NOTIFY}/{@code LISTEN} on the service's own database; one unpooled connection stays open. */
+        POSTGRES,
+        /** A shared topic every replica reads in full by manual partition assignment, without a consumer group. */
+        KAFKA
+    }
+}
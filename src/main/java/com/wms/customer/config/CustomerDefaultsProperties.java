@@ -16,4 +16,11 @@ public class CustomerDefaultsProperties {
     private String nikPlaceholder = "-";
     private String pobPlaceholder = "-";
     private boolean defaultDobNow = true;
+    /** How new customer ids are generated; UUID_V7 keeps primary key inserts append-only. */
+    private IdStrategy idStrategy = IdStrategy.UUID_V7;
+
+    public enum IdStrategy {
+        RANDOM,
+        UUID_V7
+    }
 }
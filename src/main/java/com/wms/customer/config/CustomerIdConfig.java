@@ -0,0 +1,21 @@
+package com.wms.customer.config;
+
+import com.wms.customer.id.CustomerIdGenerator;
+import com.wms.customer.id.RandomCustomerIdGenerator;
+import com.wms.customer.id.UuidV7CustomerIdGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the customer id generator from {@code customer.defaults.id-strategy}.
+ */
+@Configuration
+public class CustomerIdConfig {
+    @Bean
+    public CustomerIdGenerator customerIdGenerator(CustomerDefaultsProperties defaults) {
+        return switch (defaults.getIdStrategy()) {
+            case RANDOM -> new RandomCustomerIdGenerator();
+            case UUID_V7 -> new UuidV7CustomerIdGenerator();
+        };
+    }
+}
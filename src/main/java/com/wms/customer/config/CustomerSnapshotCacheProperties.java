@@ -0,0 +1,23 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-process cache of customer snapshots served to {@code /v1/kyc-status}.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "customer.snapshot-cache")
+public class CustomerSnapshotCacheProperties {
+    private boolean enabled = true;
+    /** Entries kept before the least recently read are evicted. */
+    private int maxSize = 50_000;
+    /** Upper bound on staleness for changes this instance did not make itself. */
+    private Duration ttl = Duration.ofSeconds(60);
+}
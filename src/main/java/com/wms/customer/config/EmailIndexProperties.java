@@ -0,0 +1,29 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory email-existence index that fronts {@code existsByEmail}.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "customer.email-index")
+public class EmailIndexProperties {
+    private boolean enabled = true;
+    private long expectedInsertions = 1_000_000;
+    private double falsePositiveRate = 0.01;
+    /** Capacity of the LRU holding emails the database confirmed as registered. */
+    private int positiveCacheSize = 50_000;
+    /**
+     * Full reload from {@code mst_customer}; other replicas' registrations arrive over the invalidation bus instead.
+     */
+    private Duration rebuildInterval = Duration.ofHours(1);
+    /** How soon a rebuild requested after an invalidation gap runs. */
+    private Duration staleCheckInterval = Duration.ofSeconds(30);
+}
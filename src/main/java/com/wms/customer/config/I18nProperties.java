@@ -0,0 +1,28 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Configuration properties for message bundles and the precomputed message table.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "customer.i18n")
+public class I18nProperties {
+    private String basename = "classpath:messages";
+    /** Locales the message table is built for; the first one is the fallback for any other locale. */
+    private List<Locale> locales = List.of(Locale.ENGLISH, Locale.forLanguageTag("id"));
+    /**
+     * Re-reads the bundles and rebuilds the table every {@code reload-interval}; useful with a {@code file:} basename.
+     */
+    private boolean hotReload = false;
+    private Duration reloadInterval = Duration.ofMinutes(1);
+}
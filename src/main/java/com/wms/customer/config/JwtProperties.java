@@ -0,0 +1,28 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for JWT issuance, including the optional set of rotating signing keys.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.jwt")
+public class JwtProperties {
+    /** Legacy single secret, used under the {@code default} kid when no key set is configured. */
+    private String secret = "dev-secret-change-me";
+    private String issuer = "wms-gateway";
+    /** Access token lifetime; kept short since clients renew through refresh tokens. */
+    private long expMinutes = 15;
+    /** Kid of the key used to sign new tokens; defaults to the first entry of {@link #keys}. */
+    private String activeKid;
+    /** Signing secrets keyed by kid; retired keys stay listed so their tokens keep verifying until expiry. */
+    private Map<String, String> keys = new LinkedHashMap<>();
+}
@@ -0,0 +1,25 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration properties for in-service verification of access tokens on endpoints that act on {@code X-User-Id}.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.jwt.verification")
+public class JwtVerificationProperties {
+    /** When off, {@code X-User-Id} is trusted as set by the gateway. */
+    private boolean enabled = false;
+    /** Paths that require a valid bearer token; the token subject replaces any client-supplied {@code X-User-Id}. */
+    private List<String> protectedPaths = List.of("/v1/auth/change-password", "/v1/kyc-status", "/v1/kyc");
+    private int cacheSize = 10_000;
+    private Duration allowedClockSkew = Duration.ofSeconds(30);
+}
@@ -0,0 +1,58 @@
+package com.wms.customer.config;
+
+import com.wms.customer.kafka.RiskProfileUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.Map;
+
+/**
+ * Kafka consumer configuration for inbound events, starting from {@code spring.kafka.consumer.*}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "kafka", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class KafkaConsumerConfig {
+    private final KafkaProperties kafkaProperties;
+    private final RiskProfileConsumerProperties riskProfileConsumerProperties;
+
+    @Bean
+    public ConsumerFactory<String, RiskProfileUpdatedEvent> riskProfileConsumerFactory() {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(null);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, RiskProfileUpdatedEvent.class.getName());
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, riskProfileConsumerProperties.getMaxPollRecords());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, RiskProfileUpdatedEvent> riskProfileBatchListenerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, RiskProfileUpdatedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(riskProfileConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(riskProfileConsumerProperties.getConcurrency());
+        // The listener skips bad records itself and raises BatchListenerFailedException only for transient failures:
+        // offsets before that record are committed and the rest of the batch is retried, for up to ten minutes
+        ExponentialBackOff backOff = new ExponentialBackOff(1000, 2.0);
+        backOff.setMaxInterval(30_000);
+        backOff.setMaxElapsedTime(600_000);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        return factory;
+    }
+}
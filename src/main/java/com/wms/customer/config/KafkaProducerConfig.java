@@ -1,11 +1,12 @@
 package com.wms.customer.config;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerConfig;
-import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
@@ -13,24 +14,23 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Kafka producer configuration tailored for the customer service, providing a JSON-capable template when Kafka is enabled.
+ * Both factories start from {@code spring.kafka.producer.*} (bootstrap servers, acks, retries, ...).
  */
 @Configuration
 @ConditionalOnProperty(prefix = "kafka", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
 @Slf4j
 public class KafkaProducerConfig {
-
-    @Value("${spring.kafka.bootstrap-servers}")
-    private String bootstrap;
+    private final KafkaProperties kafkaProperties;
+    private final AuditProducerProperties auditProducerProperties;
 
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
-        Map<String, Object> props = new HashMap<>();
-        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrap);
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(null);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         props.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
@@ -43,4 +43,22 @@ public class KafkaProducerConfig {
         kt.setDefaultTopic("audit.events");
         return kt;
     }
+
+    /**
+     * Raw-bytes producer for the audit pipeline, which serialises each event once before buffering it.
+     */
+    @Bean
+    public ProducerFactory<String, byte[]> auditProducerFactory() {
+        Map<String, Object> props = kafkaProperties.buildProducerProperties(null);
+        props.putAll(auditProducerProperties.toProducerConfig());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        log.info("Audit producer profile={}, overrides={}", auditProducerProperties.getProfile(), auditProducerProperties.toProducerConfig());
+        return new DefaultKafkaProducerFactory<>(props);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> auditKafkaTemplate() {
+        return new KafkaTemplate<>(auditProducerFactory());
+    }
 }
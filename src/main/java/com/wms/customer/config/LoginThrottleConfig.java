@@ -0,0 +1,28 @@
+package com.wms.customer.config;
+
+import com.wms.customer.throttle.InMemoryThrottleStore;
+import com.wms.customer.throttle.JdbcThrottleStore;
+import com.wms.customer.throttle.ThrottleStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Selects the login throttle's {@link ThrottleStore} from {@code customer.login-throttle.store}; an application-defined
+ * {@code ThrottleStore} bean takes precedence.
+ */
+@Configuration
+public class LoginThrottleConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(ThrottleStore.class)
+    public ThrottleStore throttleStore(LoginThrottleProperties props, ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        return switch (props.getStore()) {
+            case IN_MEMORY -> new InMemoryThrottleStore(props.getStripes(), props.getMaxKeys(),
+                    props.getWheelTick().toMillis(), props.getWheelSlots());
+            case JDBC -> new JdbcThrottleStore(jdbcTemplate.getObject());
+        };
+    }
+}
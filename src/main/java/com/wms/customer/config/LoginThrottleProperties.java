@@ -0,0 +1,62 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for per-email and per-IP login throttling.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "customer.login-throttle")
+public class LoginThrottleProperties {
+    private boolean enabled = true;
+    /** Attempts per normalised email: a burst of {@code capacity}, then one every {@code refillEvery}. */
+    private Limit email = new Limit(5, Duration.ofMinutes(1));
+    /**
+     * Also charge a bucket per client IP. Off by default: behind the gateway the socket peer is the gateway itself, so
+     * unless {@code trust-forwarded-for} is on every user would share one bucket.
+     */
+    private boolean ipEnabled = false;
+    /** Attempts per client IP; looser than the email limit so users behind a shared NAT are not locked out together. */
+    private Limit ip = new Limit(30, Duration.ofSeconds(2));
+    /** Use the first {@code X-Forwarded-For} hop as the client IP; enable only behind a proxy that overwrites it. */
+    private boolean trustForwardedFor = false;
+    /** Where bucket state lives; a {@code ThrottleStore} bean of its own replaces either. */
+    private Store store = Store.IN_MEMORY;
+    private Duration purgeInterval = Duration.ofMinutes(5);
+
+    // In-memory store
+    private int stripes = 64;
+    /** Tracked keys across all stripes; attempts for new keys beyond this are let through until idle keys expire. */
+    private int maxKeys = 200_000;
+    private Duration wheelTick = Duration.ofSeconds(1);
+    private int wheelSlots = 1024;
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private int capacity;
+        private Duration refillEvery;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, Duration refillEvery) {
+            this.capacity = capacity;
+            this.refillEvery = refillEvery;
+        }
+    }
+
+    public enum Store {
+        /** Per-instance buckets; the effective limit scales with the replica count. */
+        IN_MEMORY,
+        /** One row per key in {@code trx_login_throttle}, shared by every replica; costs one upsert per check. */
+        JDBC
+    }
+}
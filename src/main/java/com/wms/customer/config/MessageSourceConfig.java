@@ -16,9 +16,9 @@ import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
 public class MessageSourceConfig {
 
     @Bean
-    public MessageSource messageSource() {
+    public MessageSource messageSource(I18nProperties props) {
         ReloadableResourceBundleMessageSource ms = new ReloadableResourceBundleMessageSource();
-        ms.setBasename("classpath:messages");
+        ms.setBasename(props.getBasename());
         ms.setDefaultEncoding("UTF-8");
         ms.setFallbackToSystemLocale(false);
         return ms;
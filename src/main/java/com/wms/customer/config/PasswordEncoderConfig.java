@@ -0,0 +1,39 @@
+package com.wms.customer.config;
+
+import com.wms.customer.security.PasswordWorkFactorCalibrator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the {@code {id}}-prefixed password encoder. New hashes use {@code security.hashing.algorithm} at its
+ * calibrated work factor; any supported prefix verifies, and unprefixed hashes written before prefixes were introduced
+ * verify as bcrypt.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties props) {
+        PasswordHashingProperties.Algorithm algorithm = props.getAlgorithm();
+        BCryptPasswordEncoder legacyBcrypt = new BCryptPasswordEncoder();
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(PasswordHashingProperties.Algorithm.BCRYPT.id(), algorithm == PasswordHashingProperties.Algorithm.BCRYPT
+                ? PasswordWorkFactorCalibrator.bcrypt(props) : legacyBcrypt);
+        encoders.put(PasswordHashingProperties.Algorithm.PBKDF2.id(), algorithm == PasswordHashingProperties.Algorithm.PBKDF2
+                ? PasswordWorkFactorCalibrator.pbkdf2(props) : Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put(PasswordHashingProperties.Algorithm.ARGON2.id(), algorithm == PasswordHashingProperties.Algorithm.ARGON2
+                ? PasswordWorkFactorCalibrator.argon2(props) : Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm.id(), encoders);
+        delegating.setDefaultPasswordEncoderForMatches(legacyBcrypt);
+        return delegating;
+    }
+}
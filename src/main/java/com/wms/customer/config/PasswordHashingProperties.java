@@ -0,0 +1,58 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the dedicated password hashing pool that keeps bcrypt work off the request threads.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.hashing")
+public class PasswordHashingProperties {
+    /** Worker threads; zero or less means one per available processor. */
+    private int threads = 0;
+    private int queueCapacity = 64;
+    /** Upper bound a caller waits for queueing plus hashing before the request is rejected. */
+    private long maxWaitMillis = 2000;
+
+    /**
+     * Algorithm new hashes are written with; hashes in any other supported format still verify and are migrated on
+     * login.
+     */
+    private Algorithm algorithm = Algorithm.BCRYPT;
+    /**
+     * Measures the algorithm at startup and raises its work factor until one hash costs about {@code target-millis}.
+     */
+    private boolean calibrate = true;
+    private long targetMillis = 250;
+    /** Fixed bcrypt cost; when set, calibration is skipped for bcrypt. */
+    private Integer bcryptStrength;
+    private int bcryptMinStrength = 10;
+    private int bcryptMaxStrength = 14;
+    /**
+     * Re-encodes, after a successful login, hashes whose algorithm or work factor is older than the current one. PBKDF2
+     * hashes do not record their iteration count, so they are only migrated when the algorithm changes.
+     */
+    private boolean rehashOnLogin = true;
+
+    public enum Algorithm {
+        BCRYPT("bcrypt"),
+        PBKDF2("pbkdf2"),
+        ARGON2("argon2");
+
+        private final String id;
+
+        Algorithm(String id) {
+            this.id = id;
+        }
+
+        /** Prefix written in front of the hash, e.g. {@code {bcrypt}$2a$12$...}. */
+        public String id() {
+            return id;
+        }
+    }
+}
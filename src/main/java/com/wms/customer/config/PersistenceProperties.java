@@ -0,0 +1,128 @@
+package com.wms.customer.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Predicate;
+
+/**
+ * Tuning profile for the connection pool, the PostgreSQL driver and Hibernate's JDBC batching. A named
+ * {@link Profile} supplies defaults only: a setting given explicitly in {@code spring.datasource.hikari.*} or
+ * {@code spring.jpa.properties.*} keeps its value, and a field set here overrides both.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "customer.persistence")
+public class PersistenceProperties {
+    private Profile profile = Profile.TUNED;
+
+    // Hikari pool
+    private Integer maximumPoolSize;
+    private Integer minimumIdle;
+    /** Longest a request waits for a free connection before failing. */
+    private Duration connectionTimeout;
+    private Duration maxLifetime;
+
+    // PostgreSQL JDBC driver
+    /** Collapses batched single-row INSERTs into multi-row statements on the wire. */
+    private Boolean reWriteBatchedInserts;
+    /** Executions of a statement before the driver switches it to a named server-side prepared statement. */
+    private Integer prepareThreshold;
+    private Integer preparedStatementCacheQueries;
+    private Integer preparedStatementCacheSizeMiB;
+
+    // Hibernate
+    private Integer jdbcBatchSize;
+    private Boolean orderInserts;
+    private Boolean orderUpdates;
+    /** Needs a JCache provider on the classpath; hot reads are served by the application caches instead. */
+    private Boolean secondLevelCache;
+
+    /**
+     * @param hikariExplicit whether a {@code spring.datasource.hikari.*} property (kebab-case name) was configured
+     *                       explicitly; profile defaults leave those alone
+     */
+    public void applyPool(HikariConfig hikari, Predicate<String> hikariExplicit) {
+        Integer max = choose(maximumPoolSize, profile.maximumPoolSize, hikariExplicit.test("maximum-pool-size"));
+        Integer minIdle = choose(minimumIdle, profile.minimumIdle, hikariExplicit.test("minimum-idle"));
+        Duration timeout = choose(connectionTimeout, profile.connectionTimeout, hikariExplicit.test("connection-timeout"));
+        Duration lifetime = choose(maxLifetime, profile.maxLifetime, hikariExplicit.test("max-lifetime"));
+        if (max != null) hikari.setMaximumPoolSize(max);
+        if (minIdle != null) hikari.setMinimumIdle(minIdle);
+        if (timeout != null) hikari.setConnectionTimeout(timeout.toMillis());
+        if (lifetime != null) hikari.setMaxLifetime(lifetime.toMillis());
+        // Driver properties are PostgreSQL-specific; other drivers (H2 in tests) reject unknown settings
+        if (hikari.getJdbcUrl() != null && hikari.getJdbcUrl().startsWith("jdbc:postgresql:")) {
+            Properties configured = hikari.getDataSourceProperties();
+            profile.driver.forEach(configured::putIfAbsent);
+            putIfSet(configured, "reWriteBatchedInserts", reWriteBatchedInserts);
+            putIfSet(configured, "prepareThreshold", prepareThreshold);
+            putIfSet(configured, "preparedStatementCacheQueries", preparedStatementCacheQueries);
+            putIfSet(configured, "preparedStatementCacheSizeMiB", preparedStatementCacheSizeMiB);
+        }
+    }
+
+    /** Adds the profile's Hibernate settings where {@code spring.jpa.properties.*} has none, then this class's own. */
+    public void applyHibernate(Map<String, Object> hibernate) {
+        profile.hibernate.forEach(hibernate::putIfAbsent);
+        putIfSet(hibernate, AvailableSettings.STATEMENT_BATCH_SIZE, jdbcBatchSize);
+        putIfSet(hibernate, AvailableSettings.ORDER_INSERTS, orderInserts);
+        putIfSet(hibernate, AvailableSettings.ORDER_UPDATES, orderUpdates);
+        putIfSet(hibernate, AvailableSettings.USE_SECOND_LEVEL_CACHE, secondLevelCache);
+    }
+
+    private static <T> T choose(T own, T baseline, boolean explicitElsewhere) {
+        if (own != null) return own;
+        return explicitElsewhere ? null : baseline;
+    }
+
+    private static <K> void putIfSet(Map<K, Object> cfg, K key, Object value) {
+        if (value != null) cfg.put(key, value);
+    }
+
+    public enum Profile {
+        /** Hikari, driver and Hibernate defaults (10 connections, 30s wait, no batching). */
+        DEFAULT(null, null, null, null, Map.of(), Map.of()),
+        /**
+         * A fixed pool sized for a few cores' worth of concurrent queries, a short acquisition timeout so pool
+         * exhaustion surfaces as errors rather than piled-up requests, multi-row batched inserts, a larger server-side
+         * statement cache, and ordered JDBC batching in Hibernate.
+         */
+        TUNED(16, 16, Duration.ofSeconds(2), Duration.ofMinutes(30),
+                Map.of(
+                        "reWriteBatchedInserts", true,
+                        "prepareThreshold", 3,
+                        "preparedStatementCacheQueries", 512,
+                        "preparedStatementCacheSizeMiB", 10),
+                Map.of(
+                        AvailableSettings.STATEMENT_BATCH_SIZE, 50,
+                        AvailableSettings.ORDER_INSERTS, true,
+                        AvailableSettings.ORDER_UPDATES, true,
+                        AvailableSettings.USE_SECOND_LEVEL_CACHE, false));
+
+        private final Integer maximumPoolSize;
+        private final Integer minimumIdle;
+        private final Duration connectionTimeout;
+        private final Duration maxLifetime;
+        private final Map<String, Object> driver;
+        private final Map<String, Object> hibernate;
+
+        Profile(Integer maximumPoolSize, Integer minimumIdle, Duration connectionTimeout, Duration maxLifetime,
+                Map<String, Object> driver, Map<String, Object> hibernate) {
+            this.maximumPoolSize = maximumPoolSize;
+            this.minimumIdle = minimumIdle;
+            this.connectionTimeout = connectionTimeout;
+            this.maxLifetime = maxLifetime;
+            this.driver = driver;
+            this.hibernate = hibernate;
+        }
+    }
+}
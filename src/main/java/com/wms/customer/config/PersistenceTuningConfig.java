@@ -0,0 +1,49 @@
+package com.wms.customer.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Applies {@link PersistenceProperties} to the Hikari pool and Hibernate. Pool metrics
+ * ({@code hikaricp.connections.active}, {@code .pending}, {@code .acquire}, ...) are published by Spring Boot's
+ * datasource metrics auto-configuration.
+ */
+@Slf4j
+@Configuration
+public class PersistenceTuningConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer persistenceHibernateCustomizer(PersistenceProperties props) {
+        return props::applyHibernate;
+    }
+
+    /**
+     * Runs before the pool is first used, while Hikari still accepts configuration changes, and after
+     * {@code spring.datasource.hikari.*} has been bound, whose explicit settings win over the profile.
+     */
+    @Bean
+    public static BeanPostProcessor hikariTuningPostProcessor(ObjectProvider<PersistenceProperties> props, Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    PersistenceProperties p = props.getObject();
+                    Binder binder = Binder.get(environment);
+                    p.applyPool(hikari, name -> binder.bind("spring.datasource.hikari." + name, Bindable.of(String.class)).isBound());
+                    log.info("Persistence profile {}: maxPool={}, minIdle={}, connectionTimeoutMs={}, driver={}",
+                            p.getProfile(), hikari.getMaximumPoolSize(), hikari.getMinimumIdle(),
+                            hikari.getConnectionTimeout(), hikari.getDataSourceProperties());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for opaque, rotated refresh tokens.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "security.refresh-token")
+public class RefreshTokenProperties {
+    /** Lifetime of a refresh token; each rotation issues a new one with a fresh lifetime. */
+    private Duration ttl = Duration.ofDays(30);
+    private Duration purgeInterval = Duration.ofHours(1);
+}
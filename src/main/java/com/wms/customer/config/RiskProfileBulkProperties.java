@@ -0,0 +1,19 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the bulk risk profile assignment endpoint.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "customer.risk-profile-bulk")
+public class RiskProfileBulkProperties {
+    /** Rows sent to the database per JDBC batch and transaction. */
+    private int chunkSize = 1000;
+    private int maxReportedFailures = 1000;
+}
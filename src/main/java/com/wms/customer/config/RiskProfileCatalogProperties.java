@@ -0,0 +1,21 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory snapshot of risk profile master data.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "customer.risk-profile-catalog")
+public class RiskProfileCatalogProperties {
+    private Duration refreshInterval = Duration.ofMinutes(5);
+    /** Lower bound between reloads triggered by lookups of unknown ids, so a bad id cannot hammer the table. */
+    private Duration missReloadInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,22 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the batch consumer applying {@code RiskProfileUpdatedEvent}s from the CRP service.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "kafka.risk-profile-consumer")
+public class RiskProfileConsumerProperties {
+    private boolean enabled = true;
+    private String topic = "crp.risk-profile.updated";
+    private int maxPollRecords = 500;
+    private int concurrency = 1;
+    /** Recently applied event ids remembered to skip redeliveries. */
+    private int dedupCacheSize = 100_000;
+}
@@ -0,0 +1,12 @@
+package com.wms.customer.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs such as cache refreshes.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,23 @@
+package com.wms.customer.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for virtual-thread mode ({@code spring.threads.virtual.enabled}) diagnostics.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "customer.virtual-threads")
+public class VirtualThreadProperties {
+    private boolean pinningMonitorEnabled = true;
+    /** Pinned sections shorter than this are not recorded. */
+    private Duration pinningThreshold = Duration.ofMillis(20);
+    /** At most one pinning stack trace is logged per interval; every event is still counted. */
+    private Duration pinningLogInterval = Duration.ofSeconds(10);
+}
@@ -0,0 +1,18 @@
+package com.wms.customer.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request payload used to exchange a refresh token for a new access token.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequest {
+    @JsonProperty("refreshToken")
+    @NotBlank private String refreshToken;
+}
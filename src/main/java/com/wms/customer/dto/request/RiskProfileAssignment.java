@@ -0,0 +1,18 @@
+package com.wms.customer.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One (customerId, riskProfileId) pair of a bulk risk profile assignment; validated per row rather than per request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskProfileAssignment {
+    private UUID customerId;
+    private UUID riskProfileId;
+}
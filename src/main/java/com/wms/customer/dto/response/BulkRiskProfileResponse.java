@@ -0,0 +1,37 @@
+package com.wms.customer.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk risk profile assignment, listing the rows that were not applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRiskProfileResponse {
+    private long received;
+    private long updated;
+    private long failed;
+    /**
+     * Failed rows, capped at {@code customer.risk-profile-bulk.max-reported-failures}; {@link #failed} is the full
+     * count.
+     */
+    private List<RowFailure> failures;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowFailure {
+        /** 1-based position in the request (the line number for NDJSON). */
+        private long row;
+        private UUID customerId;
+        private String reason;
+    }
+}
@@ -19,6 +19,7 @@ public class LoginResponse {
     private String name;
     private String email;
     private String token;
+    private String refreshToken;
     private boolean kycComplete;
     private boolean crpComplete;
     private String riskProfileType;
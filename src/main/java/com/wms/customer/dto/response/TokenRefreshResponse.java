@@ -0,0 +1,21 @@
+package com.wms.customer.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * New access token and the rotated refresh token that replaces the one presented.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRefreshResponse {
+    private UUID customerId;
+    private String token;
+    private String refreshToken;
+}
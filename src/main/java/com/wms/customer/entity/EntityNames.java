@@ -30,4 +30,26 @@ public final class EntityNames {
         public static final String SCORE_MIN = "score_min";
         public static final String SCORE_MAX = "score_max";
     }
+
+    // Table: trx_refresh_token
+    public static final String TRX_REFRESH_TOKEN = "trx_refresh_token";
+    public static final class TrxRefreshToken {
+        private TrxRefreshToken() {}
+        public static final String TOKEN_ID = "token_id";
+        public static final String CUSTOMER_ID = "customer_id";
+        public static final String FAMILY_ID = "family_id";
+        public static final String TOKEN_HASH = "token_hash";
+        public static final String ISSUED_AT = "issued_at";
+        public static final String EXPIRES_AT = "expires_at";
+        public static final String ROTATED_AT = "rotated_at";
+        public static final String REVOKED_AT = "revoked_at";
+    }
+
+    // Table: trx_login_throttle
+    public static final String TRX_LOGIN_THROTTLE = "trx_login_throttle";
+    public static final class TrxLoginThrottle {
+        private TrxLoginThrottle() {}
+        public static final String THROTTLE_KEY = "throttle_key";
+        public static final String TAT_MILLIS = "tat_millis";
+    }
 }
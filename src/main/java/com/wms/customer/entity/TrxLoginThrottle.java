@@ -0,0 +1,31 @@
+package com.wms.customer.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA entity mapping to `trx_login_throttle`, the shared bucket state used when login throttling runs cluster-wide.
+ * Rows are read and written only by {@code JdbcThrottleStore}; the mapping exists so the table is part of the schema.
+ */
+@Entity
+@Table(name = EntityNames.TRX_LOGIN_THROTTLE, indexes = {
+        @Index(name = "ix_trx_login_throttle_tat", columnList = EntityNames.TrxLoginThrottle.TAT_MILLIS)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrxLoginThrottle {
+    @Id
+    @Column(name = EntityNames.TrxLoginThrottle.THROTTLE_KEY, length = 330)
+    private String throttleKey;
+
+    /** Epoch millis at which the key's bucket is full again. */
+    @Column(name = EntityNames.TrxLoginThrottle.TAT_MILLIS, nullable = false)
+    private long tatMillis;
+}
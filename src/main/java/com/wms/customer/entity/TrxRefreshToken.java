@@ -0,0 +1,56 @@
+package com.wms.customer.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA entity mapping to `trx_refresh_token`. Only the SHA-256 of the opaque token is stored; every token issued by
+ * rotating a login's first token shares its {@code familyId}, which is what gets revoked when a used token is replayed.
+ */
+@Entity
+@Table(name = EntityNames.TRX_REFRESH_TOKEN, indexes = {
+        @Index(name = "ux_trx_refresh_token_hash", columnList = EntityNames.TrxRefreshToken.TOKEN_HASH, unique = true),
+        @Index(name = "ix_trx_refresh_token_family", columnList = EntityNames.TrxRefreshToken.FAMILY_ID),
+        @Index(name = "ix_trx_refresh_token_customer", columnList = EntityNames.TrxRefreshToken.CUSTOMER_ID)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrxRefreshToken {
+    @Id
+    @Column(name = EntityNames.TrxRefreshToken.TOKEN_ID)
+    private UUID tokenId;
+
+    @Column(name = EntityNames.TrxRefreshToken.CUSTOMER_ID, nullable = false)
+    private UUID customerId;
+
+    @Column(name = EntityNames.TrxRefreshToken.FAMILY_ID, nullable = false)
+    private UUID familyId;
+
+    @Column(name = EntityNames.TrxRefreshToken.TOKEN_HASH, nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = EntityNames.TrxRefreshToken.ISSUED_AT, nullable = false)
+    private Instant issuedAt;
+
+    @Column(name = EntityNames.TrxRefreshToken.EXPIRES_AT, nullable = false)
+    private Instant expiresAt;
+
+    /** Set when the token is exchanged; presenting it again afterwards is a replay. */
+    @Column(name = EntityNames.TrxRefreshToken.ROTATED_AT)
+    private Instant rotatedAt;
+
+    @Column(name = EntityNames.TrxRefreshToken.REVOKED_AT)
+    private Instant revokedAt;
+}
@@ -1,8 +1,10 @@
 package com.wms.customer.exception;
 
+import com.wms.customer.i18n.I18nMessageCollection;
 import com.wms.customer.web.ApiResponseUtil;
+import com.wms.customer.web.PrecomputedResponses;
 import com.wms.customer.web.ResponseWrapper;
-import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -26,7 +28,7 @@ import org.springframework.http.converter.HttpMessageNotReadableException;
 @org.springframework.web.bind.annotation.RestControllerAdvice
 @RequiredArgsConstructor
 public class GlobalExceptionHandler {
-    private final MessageSource messageSource;
+    private final PrecomputedResponses responses;
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ResponseWrapper<Void>> handleValidation(MethodArgumentNotValidException ex, Locale locale) {
@@ -49,34 +51,40 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(ApiResponseUtil.validationMessages(messages));
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<byte[]> handleTooManyRequests(TooManyRequestsException ex, Locale locale) {
+        ResponseEntity<byte[]> res = responses.error(HttpStatus.TOO_MANY_REQUESTS, ex.getMessageCode(), locale);
+        if (ex.getRetryAfter() == null) return res;
+        // Whole seconds, rounded up so clients never retry before the limit allows
+        long seconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(res.getStatusCode()).headers(res.getHeaders())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds)).body(res.getBody());
+    }
+
     @ExceptionHandler(BusinessException.class)
-    public ResponseEntity<ResponseWrapper<Void>> handleBusiness(BusinessException ex, Locale locale) {
-        String msg = messageSource.getMessage(ex.getMessageCode(), null, ex.getMessageCode(), locale);
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponseUtil.error(ex.getMessageCode(), msg));
+    public ResponseEntity<byte[]> handleBusiness(BusinessException ex, Locale locale) {
+        return responses.error(HttpStatus.BAD_REQUEST, ex.getMessageCode(), locale);
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ResponseWrapper<Void>> handleOther(Exception ex, Locale locale) {
-        String msg = messageSource.getMessage("INTERNAL_ERROR", null, "Unexpected error", locale);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponseUtil.error("INTERNAL_ERROR", msg));
+    public ResponseEntity<byte[]> handleOther(Exception ex, Locale locale) {
+        return responses.error(HttpStatus.INTERNAL_SERVER_ERROR, I18nMessageCollection.INTERNAL_ERROR.name(), locale);
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
-    public ResponseEntity<ResponseWrapper<Void>> handleDataIntegrity(DataIntegrityViolationException ex, Locale locale) {
+    public ResponseEntity<byte[]> handleDataIntegrity(DataIntegrityViolationException ex, Locale locale) {
         String root = ex.getMostSpecificCause() != null ? ex.getMostSpecificCause().getMessage() : ex.getMessage();
         org.slf4j.LoggerFactory.getLogger(getClass()).error("Data integrity error: {}", root);
         // Heuristic: if duplicate email constraint
         String code = (root != null && root.toLowerCase().contains("email")) ? "EMAIL_ALREADY_EXISTS" : "REGISTER_FAILURE";
-        String msg = messageSource.getMessage(code, null, code, locale);
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponseUtil.error(code, msg));
+        return responses.error(HttpStatus.BAD_REQUEST, code, locale);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<ResponseWrapper<Void>> handleNotReadable(HttpMessageNotReadableException ex, Locale locale) {
+    public ResponseEntity<byte[]> handleNotReadable(HttpMessageNotReadableException ex, Locale locale) {
         // include short cause message to help FE/dev spot bad field format (e.g., date)
         String cause = ex.getMostSpecificCause() != null ? ex.getMostSpecificCause().getMessage() : ex.getMessage();
-        String msg = messageSource.getMessage("INTERNAL_ERROR", null, "Unexpected error", locale);
         org.slf4j.LoggerFactory.getLogger(getClass()).warn("Request parse error: {}", cause);
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponseUtil.error("INTERNAL_ERROR", msg));
+        return responses.error(HttpStatus.BAD_REQUEST, I18nMessageCollection.INTERNAL_ERROR.name(), locale);
     }
 }
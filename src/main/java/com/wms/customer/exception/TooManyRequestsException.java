@@ -0,0 +1,28 @@
+package com.wms.customer.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Raised when a request is shed because a bounded resource (such as the password hashing pool) is saturated, or
+ * because the caller is over a rate limit.
+ */
+@Getter
+public class TooManyRequestsException extends BusinessException {
+    /** Sent as {@code Retry-After} when known. */
+    private final Duration retryAfter;
+
+    public TooManyRequestsException() {
+        this("TOO_MANY_REQUESTS");
+    }
+
+    public TooManyRequestsException(String messageCode) {
+        this(messageCode, null);
+    }
+
+    public TooManyRequestsException(String messageCode, Duration retryAfter) {
+        super(messageCode);
+        this.retryAfter = retryAfter;
+    }
+}
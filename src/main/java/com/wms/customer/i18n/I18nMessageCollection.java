@@ -17,10 +17,15 @@ public enum I18nMessageCollection {
     LOGIN_SUCCESS(HttpStatus.OK.value(), "LOGIN_SUCCESS"),
     LOGIN_FAILURE(HttpStatus.BAD_REQUEST.value(), "LOGIN_FAILURE"),
     AUTH_INVALID_CREDENTIALS(HttpStatus.BAD_REQUEST.value(), "AUTH_INVALID_CREDENTIALS"),
+    AUTH_TOKEN_INVALID(HttpStatus.UNAUTHORIZED.value(), "AUTH_TOKEN_INVALID"),
+    AUTH_LOGIN_THROTTLED(HttpStatus.TOO_MANY_REQUESTS.value(), "AUTH_LOGIN_THROTTLED"),
     CHANGE_PASSWORD_SUCCESS(HttpStatus.OK.value(), "CHANGE_PASSWORD_SUCCESS"),
+    TOKEN_REFRESH_SUCCESS(HttpStatus.OK.value(), "TOKEN_REFRESH_SUCCESS"),
+    AUTH_REFRESH_TOKEN_INVALID(HttpStatus.BAD_REQUEST.value(), "AUTH_REFRESH_TOKEN_INVALID"),
     KYC_SUBMIT_SUCCESS(HttpStatus.OK.value(), "KYC_SUBMIT_SUCCESS"),
     KYC_VALIDATION_FAILED(HttpStatus.BAD_REQUEST.value(), "KYC_VALIDATION_FAILED"),
     EMAIL_CHECKED(HttpStatus.OK.value(), "EMAIL_CHECKED"),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS.value(), "TOO_MANY_REQUESTS"),
     INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR.value(), "INTERNAL_ERROR");
 
     private final Integer statusCode;
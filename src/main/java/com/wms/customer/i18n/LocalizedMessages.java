@@ -0,0 +1,165 @@
+package com.wms.customer.i18n;
+
+import com.wms.customer.config.I18nProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable table of every message code resolved for every configured locale, built once at startup, so rendering a
+ * response message is an array read instead of a {@link MessageSource} lookup.
+ * <p>
+ * Codes come from {@link I18nMessageCollection} plus every key in the bundles (for codes such as
+ * {@code PASSWORD_POLICY_VIOLATION} that are only raised through {@code BusinessException}). Locales outside the
+ * table resolve to the first configured locale; codes outside it resolve to the supplied default, or the code itself.
+ * With {@code customer.i18n.hot-reload} the bundles are re-read periodically and the table swapped as a whole.
+ */
+@Slf4j
+@Component
+public class LocalizedMessages {
+    private final MessageSource messageSource;
+    private final I18nProperties props;
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+    private final String[] languages;
+
+    private volatile Table table;
+    private volatile int generation;
+
+    public LocalizedMessages(MessageSource messageSource, I18nProperties props) {
+        this.messageSource = messageSource;
+        this.props = props;
+        this.languages = props.getLocales().stream().map(Locale::getLanguage).toArray(String[]::new);
+        this.table = build();
+    }
+
+    public String get(I18nMessageCollection message, Locale locale) {
+        String[] values = table.byEnum.get(message);
+        return values != null ? values[indexOf(locale)] : message.getI18nMessage();
+    }
+
+    public String get(String code, Locale locale) {
+        return get(code, locale, code);
+    }
+
+    public String get(String code, Locale locale, String defaultMessage) {
+        String[] values = code != null ? table.byCode.get(code) : null;
+        return values != null ? values[indexOf(locale)] : defaultMessage;
+    }
+
+    @Scheduled(fixedDelayString = "${customer.i18n.reload-interval:PT1M}",
+            initialDelayString = "${customer.i18n.reload-interval:PT1M}")
+    public void scheduledReload() {
+        if (props.isHotReload()) {
+            reload();
+        }
+    }
+
+    public synchronized void reload() {
+        try {
+            if (messageSource instanceof ReloadableResourceBundleMessageSource reloadable) {
+                reloadable.clearCacheIncludingAncestors();
+            }
+            Table next = build();
+            table = next;
+            generation++;
+            log.debug("Message table reloaded: {} codes", next.byCode.size());
+        } catch (RuntimeException e) {
+            log.warn("Message table reload failed, keeping previous table: {}", e.getMessage());
+        }
+    }
+
+    /** Position of {@code locale} in the table, or 0 (the fallback locale) when it is not configured. */
+    public int localeIndex(Locale locale) {
+        return indexOf(locale);
+    }
+
+    public int localeCount() {
+        return languages.length;
+    }
+
+    /** Incremented each time a reload swaps the table, so callers caching derived values can tell they are stale. */
+    public int generation() {
+        return generation;
+    }
+
+    private int indexOf(Locale locale) {
+        if (locale != null) {
+            String language = locale.getLanguage();
+            for (int i = 1; i < languages.length; i++) {
+                if (languages[i].equals(language)) return i;
+            }
+        }
+        return 0;
+    }
+
+    private Table build() {
+        Set<String> codes = new LinkedHashSet<>();
+        for (I18nMessageCollection m : I18nMessageCollection.values()) codes.add(m.getI18nMessage());
+        codes.addAll(bundleKeys());
+
+        List<Locale> locales = props.getLocales();
+        Map<String, String[]> byCode = new HashMap<>();
+        for (String code : codes) {
+            String[] values = new String[locales.size()];
+            boolean found = false;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = messageSource.getMessage(code, null, null, locales.get(i));
+                found |= values[i] != null;
+            }
+            if (!found) continue;
+            // A locale missing a key falls back to the first locale's text, then to the code
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) values[i] = values[0] != null ? values[0] : code;
+            }
+            byCode.put(code, values);
+        }
+
+        EnumMap<I18nMessageCollection, String[]> byEnum = new EnumMap<>(I18nMessageCollection.class);
+        for (I18nMessageCollection m : I18nMessageCollection.values()) {
+            String[] values = byCode.get(m.getI18nMessage());
+            if (values != null) byEnum.put(m, values);
+        }
+        return new Table(byEnum, Map.copyOf(byCode));
+    }
+
+    private Set<String> bundleKeys() {
+        Set<String> keys = new LinkedHashSet<>();
+        String basename = props.getBasename();
+        loadKeys(basename + ".properties", keys);
+        for (Locale locale : props.getLocales()) {
+            loadKeys(basename + "_" + locale.getLanguage() + ".properties", keys);
+        }
+        return keys;
+    }
+
+    private void loadKeys(String location, Set<String> keys) {
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) return;
+        try {
+            keys.addAll(PropertiesLoaderUtils.loadProperties(new EncodedResource(resource, StandardCharsets.UTF_8)).stringPropertyNames());
+        } catch (IOException e) {
+            log.warn("Could not read message bundle {}: {}", location, e.getMessage());
+        }
+    }
+
+    /** Values are indexed by position in {@code customer.i18n.locales}; never mutated once published. */
+    private record Table(EnumMap<I18nMessageCollection, String[]> byEnum, Map<String, String[]> byCode) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.wms.customer.id;
+
+import java.util.UUID;
+
+/**
+ * Source of primary keys for new {@code mst_customer} rows.
+ */
+public interface CustomerIdGenerator {
+    UUID next();
+}
@@ -0,0 +1,13 @@
+package com.wms.customer.id;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) customer ids; inserts land on arbitrary leaf pages of the primary key index.
+ */
+public class RandomCustomerIdGenerator implements CustomerIdGenerator {
+    @Override
+    public UUID next() {
+        return UUID.randomUUID();
+    }
+}
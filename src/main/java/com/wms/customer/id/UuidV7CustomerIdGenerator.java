@@ -0,0 +1,44 @@
+package com.wms.customer.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered (RFC 9562 version 7) customer ids, so new rows append to the right edge of the primary key index.
+ * <p>
+ * The 48-bit millisecond timestamp is followed by a 12-bit counter in {@code rand_a} (the RFC's "fixed-length
+ * dedicated counter" method): within one generator ids are strictly increasing, even for several ids per millisecond
+ * or when the wall clock steps back, in which case the last timestamp is reused until the clock catches up. The
+ * remaining 62 bits come from {@link SecureRandom}, which keeps ids from different nodes distinct and unguessable.
+ */
+public class UuidV7CustomerIdGenerator implements CustomerIdGenerator {
+    private static final int COUNTER_BITS = 12;
+
+    private final SecureRandom random = new SecureRandom();
+    private final LongSupplier clock;
+    /** {@code unixMillis << 12 | counter} of the last issued id. */
+    private final AtomicLong last = new AtomicLong();
+
+    public UuidV7CustomerIdGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    UuidV7CustomerIdGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID next() {
+        long now = clock.getAsLong() << COUNTER_BITS;
+        // A counter overflow carries into the timestamp, borrowing the next millisecond rather than repeating
+        long stamp = last.updateAndGet(prev -> Math.max(now, prev + 1));
+        long millis = stamp >>> COUNTER_BITS;
+        long counter = stamp & ((1L << COUNTER_BITS) - 1);
+
+        long msb = (millis & 0xFFFF_FFFF_FFFFL) << 16 | 0x7000L | counter;
+        long lsb = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,56 @@
+package com.wms.customer.invalidation;
+
+import java.util.UUID;
+
+/**
+ * One "this cached thing changed" notice: an entity kind and the key within it, or {@value #ALL} for every key.
+ */
+public record CacheInvalidation(Entity entity, String key) {
+    public static final String ALL = "*";
+
+    public static CacheInvalidation customer(UUID customerId) {
+        return new CacheInvalidation(Entity.CUSTOMER, customerId.toString());
+    }
+
+    /** A newly registered email; other replicas add it to their email index. */
+    public static CacheInvalidation email(String email) {
+        // Keys are newline-delimited on the wire
+        if (email == null || email.indexOf('\n') >= 0 || email.indexOf('\r') >= 0) return all(Entity.EMAIL);
+        return new CacheInvalidation(Entity.EMAIL, email);
+    }
+
+    public static CacheInvalidation riskProfileCatalog() {
+        return all(Entity.RISK_PROFILE_CATALOG);
+    }
+
+    public static CacheInvalidation all(Entity entity) {
+        return new CacheInvalidation(entity, ALL);
+    }
+
+    public boolean isAll() {
+        return ALL.equals(key);
+    }
+
+    public enum Entity {
+        CUSTOMER('C'),
+        EMAIL('E'),
+        RISK_PROFILE_CATALOG('R');
+
+        private final char code;
+
+        Entity(char code) {
+            this.code = code;
+        }
+
+        public char code() {
+            return code;
+        }
+
+        public static Entity of(char code) {
+            for (Entity e : values()) {
+                if (e.code == code) return e;
+            }
+            throw new IllegalArgumentException("Unknown entity code " + code);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.wms.customer.invalidation;
+
+import com.wms.customer.cache.CustomerSnapshotCache;
+import com.wms.customer.cache.EmailExistenceIndex;
+import com.wms.customer.cache.RiskProfileCatalog;
+import com.wms.customer.cache.RiskProfileCatalogInvalidatedEvent;
+import com.wms.customer.config.CacheInvalidationProperties;
+import com.wms.customer.logging.MaskingMessageConverter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells other replicas which cached entries this one has changed. Write paths call {@link #publish} after their
+ * change commits; invalidations are held for {@code flush-interval}, de-duplicated, and sent in as few messages as the
+ * batch and payload limits allow. Once an entity has more than {@code max-pending} distinct keys waiting (a bulk
+ * update), they collapse into a single "all" for that entity.
+ * <p>
+ * Received batches are applied to the local caches: a customer's snapshot is dropped, a registered email is added to
+ * the email index, and the risk profile catalog is reloaded. Batches carry the sender's origin id so a replica skips
+ * its own. When a transport reports that it may have missed messages, every snapshot is dropped, the catalog
+ * reloaded and the email index asked to rebuild.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+    private final InvalidationTransport transport;
+    private final CacheInvalidationProperties props;
+    private final CustomerSnapshotCache snapshots;
+    private final EmailExistenceIndex emailIndex;
+    private final RiskProfileCatalog riskProfileCatalog;
+    private final String origin = UUID.randomUUID().toString();
+
+    private final Object lock = new Object();
+    private Map<CacheInvalidation.Entity, Set<CacheInvalidation>> pending = new EnumMap<>(CacheInvalidation.Entity.class);
+
+    private final Counter published;
+    private final Counter coalesced;
+    private final Counter batchesSent;
+    private final Counter sendFailures;
+    private final Counter batchesReceived;
+    private final Counter applied;
+    private final Counter gaps;
+
+    private ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    public CacheInvalidationBus(InvalidationTransport transport, CacheInvalidationProperties props,
+                                CustomerSnapshotCache snapshots, EmailExistenceIndex emailIndex,
+                                RiskProfileCatalog riskProfileCatalog, MeterRegistry registry) {
+        this.transport = transport;
+        this.props = props;
+        this.snapshots = snapshots;
+        this.emailIndex = emailIndex;
+        this.riskProfileCatalog = riskProfileCatalog;
+
+        String name = "customer.invalidation";
+        this.published = Counter.builder(name + ".published").register(registry);
+        this.coalesced = Counter.builder(name + ".coalesced")
+                .description("Invalidations merged into one already pending")
+                .register(registry);
+        this.batchesSent = Counter.builder(name + ".batches").tag("direction", "sent").register(registry);
+        this.sendFailures = Counter.builder(name + ".batches").tag("direction", "failed").register(registry);
+        this.batchesReceived = Counter.builder(name + ".batches").tag("direction", "received").register(registry);
+        this.applied = Counter.builder(name + ".applied").register(registry);
+        this.gaps = Counter.builder(name + ".gaps").register(registry);
+    }
+
+    public void publish(CacheInvalidation invalidation) {
+        if (!props.isEnabled()) return;
+        published.increment();
+        synchronized (lock) {
+            Set<CacheInvalidation> keys = pending.computeIfAbsent(invalidation.entity(), e -> new LinkedHashSet<>());
+            CacheInvalidation all = CacheInvalidation.all(invalidation.entity());
+            if (keys.contains(all) || !keys.add(invalidation)) {
+                coalesced.increment();
+                return;
+            }
+            if (keys.size() > props.getMaxPending()) {
+                coalesced.increment(keys.size() - 1);
+                keys.clear();
+                keys.add(all);
+            }
+        }
+    }
+
+    /** Forwards local catalog invalidations so every replica reloads. */
+    @EventListener(RiskProfileCatalogInvalidatedEvent.class)
+    public void onCatalogInvalidated(RiskProfileCatalogInvalidatedEvent event) {
+        publish(CacheInvalidation.riskProfileCatalog());
+    }
+
+    void flush() {
+        Map<CacheInvalidation.Entity, Set<CacheInvalidation>> drained;
+        synchronized (lock) {
+            if (pending.isEmpty()) return;
+            drained = pending;
+            pending = new EnumMap<>(CacheInvalidation.Entity.class);
+        }
+        int headerBytes = InvalidationBatch.utf8Length(origin);
+        List<CacheInvalidation> batch = new ArrayList<>();
+        int bytes = headerBytes;
+        for (Set<CacheInvalidation> keys : drained.values()) {
+            for (CacheInvalidation item : keys) {
+                int itemBytes = InvalidationBatch.encodedBytes(item);
+                if (!batch.isEmpty() && (batch.size() >= props.getMaxBatchSize() || bytes + itemBytes > props.getMaxPayloadBytes())) {
+                    send(batch);
+                    batch = new ArrayList<>();
+                    bytes = headerBytes;
+                }
+                batch.add(item);
+                bytes += itemBytes;
+            }
+        }
+        if (!batch.isEmpty()) send(batch);
+    }
+
+    private void send(List<CacheInvalidation> items) {
+        CompletableFuture<Void> sent;
+        try {
+            sent = transport.send(new InvalidationBatch(origin, items));
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((ok, e) -> {
+            if (e == null) {
+                batchesSent.increment();
+            } else {
+                // Not re-queued: peers fall back to their TTLs and scheduled refreshes for this batch
+                sendFailures.increment();
+                log.warn("Cache invalidation batch of {} not sent: {}", items.size(), e.getMessage());
+            }
+        });
+    }
+
+    void receive(InvalidationBatch batch) {
+        if (origin.equals(batch.origin())) return;
+        batchesReceived.increment();
+        boolean catalog = false;
+        for (CacheInvalidation item : batch.items()) {
+            try {
+                switch (item.entity()) {
+                    case CUSTOMER -> {
+                        if (item.isAll()) snapshots.invalidateAll();
+                        else snapshots.invalidate(UUID.fromString(item.key()));
+                    }
+                    case EMAIL -> {
+                        if (item.isAll()) emailIndex.requestRebuild();
+                        else emailIndex.recordRegistered(item.key());
+                    }
+                    case RISK_PROFILE_CATALOG -> catalog = true;
+                }
+                applied.increment();
+            } catch (IllegalArgumentException e) {
+                // Keys can be email addresses
+                log.warn("Skipping malformed {} invalidation {}: {}", item.entity(), MaskingMessageConverter.mask(item.key()),
+                        e.getMessage());
+            }
+        }
+        if (catalog) riskProfileCatalog.refresh();
+    }
+
+    void gap() {
+        gaps.increment();
+        snapshots.invalidateAll();
+        riskProfileCatalog.refresh();
+        emailIndex.requestRebuild();
+    }
+
+    @Override
+    public void start() {
+        if (!props.isEnabled()) return;
+        transport.start(new InvalidationTransport.Receiver() {
+            @Override
+            public void onBatch(InvalidationBatch batch) {
+                receive(batch);
+            }
+
+            @Override
+            public void onGap() {
+                gap();
+            }
+        });
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cache-invalidation-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = Math.max(1, props.getFlushInterval().toMillis());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Cache invalidation bus started: transport={}, origin={}", props.getTransport(), origin);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) return;
+        running = false;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(props.getFlushInterval().toMillis() + 1000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        transport.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidation flush failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.wms.customer.invalidation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Invalidations sent together by one replica. The wire form is plain text so it fits a NOTIFY payload as well as a
+ * Kafka record: the sender's origin id on the first line, then one {@code <entity code><key>} per line, e.g.
+ * {@code C0190f1e2-...} or {@code R*}.
+ */
+public record InvalidationBatch(String origin, List<CacheInvalidation> items) {
+
+    public String encode() {
+        StringBuilder sb = new StringBuilder(origin.length() + items.size() * 40).append(origin);
+        for (CacheInvalidation item : items) {
+            sb.append('\n').append(item.entity().code()).append(item.key());
+        }
+        return sb.toString();
+    }
+
+    /** UTF-8 bytes {@code item} adds to the encoded batch: separator, entity code and key. */
+    static int encodedBytes(CacheInvalidation item) {
+        return 2 + utf8Length(item.key());
+    }
+
+    static int utf8Length(String s) {
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) n += 1;
+            else if (c < 0x800) n += 2;
+            else if (Character.isHighSurrogate(c)) {
+                n += 4;
+                i++;
+            } else n += 3;
+        }
+        return n;
+    }
+
+    public static InvalidationBatch decode(String payload) {
+        String[] lines = payload.split("\n");
+        if (lines.length == 0 || lines[0].isEmpty()) throw new IllegalArgumentException("Missing origin");
+        List<CacheInvalidation> items = new ArrayList<>(lines.length - 1);
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i];
+            if (line.length() < 2) throw new IllegalArgumentException("Malformed invalidation line " + i);
+            items.add(new CacheInvalidation(CacheInvalidation.Entity.of(line.charAt(0)), line.substring(1)));
+        }
+        return new InvalidationBatch(lines[0], items);
+    }
+}
@@ -0,0 +1,25 @@
+package com.wms.customer.invalidation;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries {@link InvalidationBatch}es between replicas for {@link CacheInvalidationBus}. Delivery is best effort: a
+ * lost batch leaves other replicas stale until their cache TTLs or scheduled refreshes catch up, so transports report
+ * known gaps through {@link Receiver#onGap()} rather than retrying.
+ */
+public interface InvalidationTransport {
+
+    /** Completes once the batch has been handed to the medium, or exceptionally if that failed. */
+    CompletableFuture<Void> send(InvalidationBatch batch);
+
+    void start(Receiver receiver);
+
+    void stop();
+
+    interface Receiver {
+        void onBatch(InvalidationBatch batch);
+
+        /** Messages may have been missed (e.g. the listening connection was re-established). */
+        void onGap();
+    }
+}
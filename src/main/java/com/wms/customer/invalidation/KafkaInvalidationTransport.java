@@ -0,0 +1,175 @@
+package com.wms.customer.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.InvalidOffsetException;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport over a Kafka topic. Each replica reads every partition by manual assignment, with no consumer group and
+ * no offset commits, starting from the end: a fresh instance has nothing cached that older batches could invalidate.
+ * <p>
+ * The consumer rides out broker outages on its own and resumes where it stopped, since the broker keeps the records.
+ * Positions are lost only when the consumer has to be recreated after an error, or when it fell further behind than the
+ * topic's retention ({@code auto.offset.reset=none} turns that into an error rather than a silent jump); both are
+ * reported as gaps.
+ */
+@Slf4j
+public class KafkaInvalidationTransport implements InvalidationTransport {
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final long PARTITION_CHECK_MILLIS = 30_000;
+
+    private final String topic;
+    private final Duration reconnectBackoff;
+    private final DefaultKafkaProducerFactory<String, String> producerFactory;
+    private final KafkaTemplate<String, String> template;
+    private final Map<String, Object> consumerConfig;
+    private volatile boolean running;
+    private volatile boolean assigned;
+    private volatile KafkaConsumer<String, String> consumer;
+    private Thread listener;
+
+    public KafkaInvalidationTransport(KafkaProperties kafkaProperties, String topic, Duration reconnectBackoff) {
+        this.topic = topic;
+        this.reconnectBackoff = reconnectBackoff;
+        Map<String, Object> producer = kafkaProperties.buildProducerProperties(null);
+        producer.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producer.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producer.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+        this.producerFactory = new DefaultKafkaProducerFactory<>(producer);
+        this.template = new KafkaTemplate<>(producerFactory);
+
+        Map<String, Object> consumer = kafkaProperties.buildConsumerProperties(null);
+        consumer.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        consumer.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumer.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "none");
+        consumer.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumer.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        this.consumerConfig = consumer;
+    }
+
+    @Override
+    public CompletableFuture<Void> send(InvalidationBatch batch) {
+        return template.send(topic, batch.origin(), batch.encode()).thenApply(result -> null);
+    }
+
+    @Override
+    public synchronized void start(Receiver receiver) {
+        running = true;
+        listener = new Thread(() -> listen(receiver), "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        KafkaConsumer<String, String> c = consumer;
+        if (c != null) c.wakeup();
+        if (listener != null) {
+            try {
+                listener.join(POLL_TIMEOUT.toMillis() * 4);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        listener = null;
+        producerFactory.destroy();
+    }
+
+    /** Whether the listener holds its partitions and is positioned, i.e. batches sent from now on will be received. */
+    boolean isAssigned() {
+        return assigned;
+    }
+
+    private void listen(Receiver receiver) {
+        boolean reconnecting = false;
+        while (running) {
+            try (KafkaConsumer<String, String> c = new KafkaConsumer<>(consumerConfig)) {
+                consumer = c;
+                Set<TopicPartition> partitions = assignNew(c, new HashSet<>(), false);
+                if (reconnecting) {
+                    log.info("Cache invalidation listener re-assigned {} partitions of {}", partitions.size(), topic);
+                    receiver.onGap();
+                }
+                assigned = true;
+                long nextPartitionCheck = System.currentTimeMillis() + PARTITION_CHECK_MILLIS;
+                while (running) {
+                    try {
+                        for (ConsumerRecord<String, String> record : c.poll(POLL_TIMEOUT)) deliver(receiver, record);
+                    } catch (InvalidOffsetException e) {
+                        log.warn("Cache invalidation listener fell behind retention on {}, skipping to the end", e.partitions());
+                        c.seekToEnd(e.partitions());
+                        receiver.onGap();
+                    }
+                    if (System.currentTimeMillis() >= nextPartitionCheck) {
+                        assignNew(c, partitions, true);
+                        nextPartitionCheck = System.currentTimeMillis() + PARTITION_CHECK_MILLIS;
+                    }
+                }
+            } catch (WakeupException e) {
+                if (!running) return;
+            } catch (KafkaException e) {
+                if (!running) return;
+                log.warn("Cache invalidation listener failed, reconnecting in {}: {}", reconnectBackoff, e.getMessage());
+            } finally {
+                consumer = null;
+                assigned = false;
+            }
+            reconnecting = true;
+            try {
+                Thread.sleep(reconnectBackoff.toMillis());
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds the topic's partitions not yet in {@code partitions} to the assignment. Initially they start at the end;
+     * partitions added to the topic later are read from the beginning, as everything in them is newer than this start.
+     */
+    private Set<TopicPartition> assignNew(KafkaConsumer<String, String> c, Set<TopicPartition> partitions, boolean fromBeginning) {
+        List<PartitionInfo> infos = c.partitionsFor(topic);
+        Set<TopicPartition> added = new HashSet<>();
+        for (PartitionInfo info : infos) {
+            TopicPartition tp = new TopicPartition(topic, info.partition());
+            if (partitions.add(tp)) added.add(tp);
+        }
+        if (added.isEmpty()) return partitions;
+        // Partitions already assigned keep their positions
+        c.assign(partitions);
+        if (fromBeginning) c.seekToBeginning(added);
+        else c.seekToEnd(added);
+        // Resolve the lazy seeks now, so "assigned" means batches sent from here on are seen
+        for (TopicPartition tp : added) c.position(tp);
+        return partitions;
+    }
+
+    private static void deliver(Receiver receiver, ConsumerRecord<String, String> record) {
+        try {
+            receiver.onBatch(InvalidationBatch.decode(record.value()));
+        } catch (RuntimeException e) {
+            log.warn("Dropping unreadable cache invalidation at offset {}: {}", record.offset(), e.getMessage());
+        }
+    }
+}
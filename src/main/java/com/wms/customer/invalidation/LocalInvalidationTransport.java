@@ -0,0 +1,32 @@
+package com.wms.customer.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process transport: every receiver started on the same instance gets every batch, synchronously on the sending
+ * thread. With one bus it only loops back to its sender; tests share one instance between several buses to stand in
+ * for replicas.
+ */
+public class LocalInvalidationTransport implements InvalidationTransport {
+    private final List<Receiver> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public CompletableFuture<Void> send(InvalidationBatch batch) {
+        // Round-trip through the wire form so tests exercise the same encoding as the real transports
+        String payload = batch.encode();
+        for (Receiver r : receivers) r.onBatch(InvalidationBatch.decode(payload));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void start(Receiver receiver) {
+        receivers.add(receiver);
+    }
+
+    @Override
+    public void stop() {
+        receivers.clear();
+    }
+}
@@ -0,0 +1,111 @@
+package com.wms.customer.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+/**
+ * Transport over PostgreSQL {@code NOTIFY}/{@code LISTEN}. Sending is one {@code pg_notify} call on any pooled
+ * connection; receiving holds one dedicated connection, opened outside the pool so it does not cost request capacity,
+ * for the lifetime of the application and polls it for notifications. Notifications are not queued for disconnected
+ * listeners, so every reconnect is reported as a gap.
+ */
+@Slf4j
+public class PostgresInvalidationTransport implements InvalidationTransport {
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+
+    private final ListenConnectionFactory listenConnections;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final Duration reconnectBackoff;
+    private volatile boolean running;
+    private Thread listener;
+
+    /** Opens the listening connection; called again on every reconnect. */
+    @FunctionalInterface
+    public interface ListenConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    public PostgresInvalidationTransport(ListenConnectionFactory listenConnections, JdbcTemplate jdbcTemplate,
+                                         String channel, Duration reconnectBackoff) {
+        // LISTEN takes an identifier, not a bind parameter
+        if (!CHANNEL.matcher(channel).matches()) throw new IllegalArgumentException("Invalid NOTIFY channel " + channel);
+        this.listenConnections = listenConnections;
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+        this.reconnectBackoff = reconnectBackoff;
+    }
+
+    @Override
+    public CompletableFuture<Void> send(InvalidationBatch batch) {
+        jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, channel, batch.encode());
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public synchronized void start(Receiver receiver) {
+        running = true;
+        listener = new Thread(() -> listen(receiver), "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) listener.interrupt();
+        listener = null;
+    }
+
+    private void listen(Receiver receiver) {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = listenConnections.open()) {
+                connection.setAutoCommit(true);
+                try (Statement st = connection.createStatement()) {
+                    st.execute("LISTEN " + channel);
+                }
+                if (reconnecting) {
+                    log.info("Cache invalidation listener reconnected to channel {}", channel);
+                    receiver.onGap();
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications == null) continue;
+                    for (PGNotification n : notifications) deliver(receiver, n.getParameter());
+                }
+            } catch (SQLException | RuntimeException e) {
+                // Anything escaping the loop would end the thread and leave this replica deaf, so every failure
+                // reconnects
+                if (!running) return;
+                log.warn("Cache invalidation listener lost its connection, retrying in {}: {}", reconnectBackoff, e.toString());
+                reconnecting = true;
+                try {
+                    Thread.sleep(reconnectBackoff.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void deliver(Receiver receiver, String payload) {
+        try {
+            receiver.onBatch(InvalidationBatch.decode(payload));
+        } catch (RuntimeException e) {
+            log.warn("Dropping unreadable cache invalidation: {}", e.getMessage());
+        }
+    }
+}
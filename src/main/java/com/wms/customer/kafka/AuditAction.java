@@ -0,0 +1,41 @@
+package com.wms.customer.kafka;
+
+/**
+ * Audit actions emitted by the customer service, with the stable one-byte codes used by the binary encoding.
+ * Codes are append-only: never renumber or reuse a code once it has been published.
+ */
+public enum AuditAction {
+    REGISTER_SUCCESS(1),
+    REGISTER_FAILURE(2),
+    LOGIN_SUCCESS(3),
+    LOGIN_FAILURE(4),
+    KYC_UPDATED(5);
+
+    private static final AuditAction[] BY_CODE = new AuditAction[256];
+
+    static {
+        for (AuditAction a : values()) BY_CODE[a.code] = a;
+    }
+
+    private final int code;
+
+    AuditAction(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    /** Returns the action for a wire code, or {@code null} for 0 and for codes no action uses. */
+    public static AuditAction fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    /** Returns the action with this name, or {@code null} when it is not a known action. */
+    public static AuditAction fromName(String name) {
+        if (name == null) return null;
+        for (AuditAction a : values()) if (a.name().equals(name)) return a;
+        return null;
+    }
+}
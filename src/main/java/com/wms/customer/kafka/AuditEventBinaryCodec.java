@@ -0,0 +1,278 @@
+package com.wms.customer.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of {@link AuditEvent}.
+ * <pre>
+ * v1 layout
+ *   u8      schema version (1)
+ *   varint  flags (see FLAG_*)
+ *   16B     eventId                            if FLAG_EVENT_ID
+ *   varlong epoch second (zigzag)              if FLAG_TIME_PARSED, followed by
+ *   varint  nano-of-second, varint offset seconds (zigzag)
+ *   str     occurredAt as text                 if occurredAt is present but not an ISO offset date-time
+ *   u8      action code; 0 = str follows       if FLAG_ACTION
+ *   u8      status code; 0 = str follows       if FLAG_STATUS
+ *   16B     customerId                         if FLAG_CUSTOMER_ID
+ *   str     serviceName                        if FLAG_SERVICE_NAME
+ *                                              (omitted when it equals {@link #DEFAULT_SERVICE_NAME})
+ *   str     email                              if FLAG_EMAIL
+ *   str     description                        if FLAG_DESCRIPTION
+ * str = varint byte length + UTF-8 bytes
+ * </pre>
+ * Readers reject versions they do not know, so incompatible layout changes must bump {@link #SCHEMA_VERSION}.
+ */
+public final class AuditEventBinaryCodec {
+    public static final int SCHEMA_VERSION = 1;
+    public static final String DEFAULT_SERVICE_NAME = "customer-service";
+
+    private static final int FLAG_EVENT_ID = 1;
+    private static final int FLAG_TIME_PARSED = 1 << 1;
+    private static final int FLAG_TIME_TEXT = 1 << 2;
+    private static final int FLAG_ACTION = 1 << 3;
+    private static final int FLAG_STATUS = 1 << 4;
+    private static final int FLAG_CUSTOMER_ID = 1 << 5;
+    private static final int FLAG_SERVICE_NAME = 1 << 6;
+    private static final int FLAG_EMAIL = 1 << 7;
+    private static final int FLAG_DESCRIPTION = 1 << 8;
+
+    private AuditEventBinaryCodec() {}
+
+    public static byte[] encode(AuditEvent e) {
+        return encode(e, parseTime(e.getOccurredAt()));
+    }
+
+    /**
+     * Encodes with an already-known timestamp, skipping the text parse; {@code occurredAt} must be the value whose
+     * {@code toString()} produced {@link AuditEvent#getOccurredAt()}, or {@code null}.
+     */
+    public static byte[] encode(AuditEvent e, OffsetDateTime occurredAt) {
+        Writer w = new Writer();
+        OffsetDateTime time = occurredAt;
+        int flags = 0;
+        if (e.getEventId() != null) flags |= FLAG_EVENT_ID;
+        if (time != null) flags |= FLAG_TIME_PARSED;
+        else if (e.getOccurredAt() != null) flags |= FLAG_TIME_TEXT;
+        if (e.getAction() != null) flags |= FLAG_ACTION;
+        if (e.getStatus() != null) flags |= FLAG_STATUS;
+        if (e.getCustomerId() != null) flags |= FLAG_CUSTOMER_ID;
+        if (e.getServiceName() == null || !DEFAULT_SERVICE_NAME.equals(e.getServiceName())) flags |= FLAG_SERVICE_NAME;
+        if (e.getEmail() != null) flags |= FLAG_EMAIL;
+        if (e.getDescription() != null) flags |= FLAG_DESCRIPTION;
+
+        w.u8(SCHEMA_VERSION);
+        w.varint(flags);
+        if (e.getEventId() != null) w.uuid(e.getEventId());
+        if (time != null) {
+            w.varlong(zigzag(time.toEpochSecond()));
+            w.varint(time.getNano());
+            w.varint((int) zigzag(time.getOffset().getTotalSeconds()));
+        } else if (e.getOccurredAt() != null) {
+            w.str(e.getOccurredAt());
+        }
+        if (e.getAction() != null) {
+            AuditAction a = AuditAction.fromName(e.getAction());
+            w.u8(a != null ? a.code() : 0);
+            if (a == null) w.str(e.getAction());
+        }
+        if (e.getStatus() != null) {
+            AuditStatus s = AuditStatus.fromName(e.getStatus());
+            w.u8(s != null ? s.code() : 0);
+            if (s == null) w.str(e.getStatus());
+        }
+        if (e.getCustomerId() != null) w.uuid(e.getCustomerId());
+        if ((flags & FLAG_SERVICE_NAME) != 0) w.nullableStr(e.getServiceName());
+        if (e.getEmail() != null) w.str(e.getEmail());
+        if (e.getDescription() != null) w.str(e.getDescription());
+        return w.toByteArray();
+    }
+
+    public static AuditEvent decode(byte[] data) {
+        Reader r = new Reader(data);
+        int version = r.u8();
+        if (version != SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unsupported audit event schema version " + version);
+        }
+        int flags = r.varint();
+        AuditEvent e = new AuditEvent();
+        if ((flags & FLAG_EVENT_ID) != 0) e.setEventId(r.uuid());
+        if ((flags & FLAG_TIME_PARSED) != 0) {
+            long seconds = unzigzag(r.varlong());
+            int nanos = r.varint();
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) unzigzag(r.varint()));
+            e.setOccurredAt(OffsetDateTime.ofInstant(Instant.ofEpochSecond(seconds, nanos), offset).toString());
+        } else if ((flags & FLAG_TIME_TEXT) != 0) {
+            e.setOccurredAt(r.str());
+        }
+        if ((flags & FLAG_ACTION) != 0) {
+            int code = r.u8();
+            if (code == 0) {
+                e.setAction(r.str());
+            } else {
+                AuditAction a = AuditAction.fromCode(code);
+                e.setAction(a != null ? a.name() : "UNKNOWN_" + code);
+            }
+        }
+        if ((flags & FLAG_STATUS) != 0) {
+            int code = r.u8();
+            if (code == 0) {
+                e.setStatus(r.str());
+            } else {
+                AuditStatus s = AuditStatus.fromCode(code);
+                e.setStatus(s != null ? s.name() : "UNKNOWN_" + code);
+            }
+        }
+        if ((flags & FLAG_CUSTOMER_ID) != 0) e.setCustomerId(r.uuid());
+        e.setServiceName((flags & FLAG_SERVICE_NAME) != 0 ? r.nullableStr() : DEFAULT_SERVICE_NAME);
+        if ((flags & FLAG_EMAIL) != 0) e.setEmail(r.str());
+        if ((flags & FLAG_DESCRIPTION) != 0) e.setDescription(r.str());
+        return e;
+    }
+
+    private static OffsetDateTime parseTime(String text) {
+        if (text == null) return null;
+        try {
+            OffsetDateTime t = OffsetDateTime.parse(text);
+            // Only use the compact form when decoding reproduces the exact original text
+            return t.toString().equals(text) ? t : null;
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static final class Writer {
+        private byte[] buf = new byte[128];
+        private int len;
+
+        void u8(int v) {
+            ensure(1);
+            buf[len++] = (byte) v;
+        }
+
+        void varint(int v) {
+            varlong(v & 0xFFFFFFFFL);
+        }
+
+        void varlong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[len++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[len++] = (byte) v;
+        }
+
+        void uuid(UUID id) {
+            ensure(16);
+            putLong(id.getMostSignificantBits());
+            putLong(id.getLeastSignificantBits());
+        }
+
+        private void putLong(long v) {
+            for (int i = 7; i >= 0; i--) buf[len++] = (byte) (v >>> (i * 8));
+        }
+
+        void str(String s) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, len, bytes.length);
+            len += bytes.length;
+        }
+
+        /** Length is shifted by one so that 0 encodes {@code null}. */
+        void nullableStr(String s) {
+            if (s == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, len, bytes.length);
+            len += bytes.length;
+        }
+
+        private void ensure(int n) {
+            if (len + n > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + n));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, len);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int u8() {
+            check(1);
+            return buf[pos++] & 0xFF;
+        }
+
+        int varint() {
+            return (int) varlong();
+        }
+
+        long varlong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = u8();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return result;
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        UUID uuid() {
+            check(16);
+            return new UUID(getLong(), getLong());
+        }
+
+        private long getLong() {
+            long v = 0;
+            for (int i = 0; i < 8; i++) v = (v << 8) | (buf[pos++] & 0xFF);
+            return v;
+        }
+
+        String str() {
+            return bytes(varint());
+        }
+
+        String nullableStr() {
+            int n = varint();
+            return n == 0 ? null : bytes(n - 1);
+        }
+
+        private String bytes(int n) {
+            check(n);
+            String s = new String(buf, pos, n, StandardCharsets.UTF_8);
+            pos += n;
+            return s;
+        }
+
+        private void check(int n) {
+            if (n < 0 || pos + n > buf.length) throw new IllegalArgumentException("Truncated audit event");
+        }
+    }
+}
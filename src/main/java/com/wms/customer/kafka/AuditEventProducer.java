@@ -1,52 +1,266 @@
 package com.wms.customer.kafka;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.wms.customer.config.AuditProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Publishes audit events to Kafka when auditing is enabled for the service.
+ * <p>
+ * Callers only serialise the event and offer it to a bounded in-memory buffer; a single background thread drains the
+ * buffer in batches and hands records to Kafka, so request latency does not depend on broker health. Events that do
+ * not fit in the buffer, or that Kafka rejects, are handed to the same thread, which appends them to a local spill
+ * file that is replayed once sends succeed again. Neither request threads nor Kafka's callback thread touch the file.
+ * Records handed over while that hand-off queue is also full, or after {@link #stop()}, are dropped and counted.
+ * <p>
+ * Each configured topic has its own wire format ({@link AuditFormat}); an event is serialised once per format and
+ * tagged with a {@code content-type} header, plus {@code schema-version} on binary topics.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 @org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(prefix = "kafka", name = "enabled", havingValue = "true")
 public class AuditEventProducer {
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final AuditProperties props;
     private final ObjectMapper mapper = new ObjectMapper();
+    private final BlockingQueue<PendingRecord> buffer;
+    /** Records the drainer still has to spill: buffer overflow and failed sends. */
+    private final BlockingQueue<PendingRecord> toSpill;
+    private final AuditSpillFile spill;
+    private final List<AuditProperties.TopicRoute> routes;
+    private final Map<String, Header[]> headersByTopic = new HashMap<>();
+
+    private final Counter enqueued;
+    private final Counter sent;
+    private final Counter spilled;
+    private final Counter replayed;
+    private final Counter dropped;
+    private double droppedReported;
+
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private volatile boolean brokerHealthy = true;
+    private volatile long nextAttemptAt;
+    private Thread drainer;
+
+    public AuditEventProducer(@Qualifier("auditKafkaTemplate") KafkaTemplate<String, byte[]> kafkaTemplate,
+                              AuditProperties props, MeterRegistry registry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.props = props;
+        this.buffer = new ArrayBlockingQueue<>(props.getBufferCapacity());
+        this.toSpill = new ArrayBlockingQueue<>(props.getBufferCapacity());
+        this.spill = new AuditSpillFile(Path.of(props.getSpillPath()));
+        this.routes = props.effectiveTopics();
+        for (AuditProperties.TopicRoute route : routes) {
+            Header contentType = new RecordHeader("content-type", route.getFormat().contentType().getBytes(StandardCharsets.UTF_8));
+            // The schema version describes the binary layout only; JSON consumers read fields by name
+            headersByTopic.put(route.getName(), route.getFormat() == AuditFormat.BINARY
+                    ? new Header[] {contentType, new RecordHeader("schema-version", new byte[] {(byte) AuditEventBinaryCodec.SCHEMA_VERSION})}
+                    : new Header[] {contentType});
+        }
+        Gauge.builder("customer.audit.buffer.size", buffer, BlockingQueue::size).register(registry);
+        Gauge.builder("customer.audit.broker.healthy", this, p -> p.brokerHealthy ? 1 : 0).register(registry);
+        this.enqueued = Counter.builder("customer.audit.events").tag("stage", "enqueued").register(registry);
+        this.sent = Counter.builder("customer.audit.events").tag("stage", "sent").register(registry);
+        this.spilled = Counter.builder("customer.audit.events").tag("stage", "spilled").register(registry);
+        this.replayed = Counter.builder("customer.audit.events").tag("stage", "replayed").register(registry);
+        this.dropped = Counter.builder("customer.audit.events").tag("stage", "dropped").register(registry);
+    }
 
     public void sendAuditEvent(String action, String customerId, String email, String status, String description) {
+        OffsetDateTime now = OffsetDateTime.now();
+        AuditEvent event = AuditEvent.builder()
+                .eventId(UUID.randomUUID())
+                .occurredAt(now.toString())
+                .serviceName(props.getServiceName())
+                .action(action)
+                .customerId(customerId != null ? UUID.fromString(customerId) : null)
+                .email(email)
+                .status(status)
+                .description(description)
+                .build();
+        byte[] json = null;
+        byte[] binary = null;
+        for (AuditProperties.TopicRoute route : routes) {
+            byte[] value;
+            if (route.getFormat() == AuditFormat.BINARY) {
+                if (binary == null) binary = AuditEventBinaryCodec.encode(event, now);
+                value = binary;
+            } else {
+                if (json == null) {
+                    try {
+                        json = mapper.writeValueAsBytes(event);
+                    } catch (JsonProcessingException e) {
+                        log.warn("Failed to serialise audit event: {}", e.getMessage());
+                        continue;
+                    }
+                }
+                value = json;
+            }
+            PendingRecord record = new PendingRecord(route.getName(), customerId, value);
+            if (!stopped && buffer.offer(record)) {
+                enqueued.increment();
+            } else {
+                handOff(record);
+            }
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        drainer = new Thread(this::drainLoop, "audit-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        drainer.interrupt();
+        drainer.join(5_000);
+        // Whatever is still buffered goes to disk; it is replayed on the next start
+        List<PendingRecord> rest = new ArrayList<>();
+        buffer.drainTo(rest);
+        toSpill.drainTo(rest);
+        rest.forEach(this::spill);
+        stopped = true;
+        spill.close();
+    }
+
+    private void drainLoop() {
+        List<PendingRecord> batch = new ArrayList<>(props.getBatchSize());
+        while (running) {
+            try {
+                PendingRecord first = buffer.poll(200, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, props.getBatchSize() - 1);
+                    publish(batch);
+                    batch.clear();
+                }
+                spillHandedOff();
+                maybeReplay();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Audit drainer error: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void publish(List<PendingRecord> batch) {
+        if (!brokerHealthy && System.currentTimeMillis() < nextAttemptAt) {
+            batch.forEach(this::spill);
+            spill.flush();
+            return;
+        }
+        for (PendingRecord r : batch) {
+            send(r.topic(), r.key(), r.value(), sent);
+        }
+    }
+
+    private void send(String topic, String key, byte[] value, Counter onSuccess) {
         try {
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("eventId", java.util.UUID.randomUUID());
-            payload.put("occurredAt", java.time.OffsetDateTime.now().toString());
-            payload.put("serviceName", "customer-service");
-            payload.put("action", action);
-            payload.put("customerId", customerId);
-            payload.put("email", email);
-            payload.put("status", status);
-            payload.put("description", description);
-            String json = mapper.writeValueAsString(payload);
-            log.info("Sending audit event: {}", json);
-            kafkaTemplate.send("audit.events", payload).whenComplete((result, ex) -> {
+            Header[] headers = headersByTopic.get(topic);
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, null, key, value,
+                    headers != null ? List.of(headers) : null);
+            kafkaTemplate.send(record).whenComplete((result, ex) -> {
                 if (ex == null) {
-                    if (result != null && result.getRecordMetadata() != null) {
-                        var md = result.getRecordMetadata();
-                        log.info("Audit event sent: topic={}, partition={}, offset={}", md.topic(), md.partition(), md.offset());
-                    } else {
-                        log.info("Audit event sent");
+                    onSuccess.increment();
+                    if (!brokerHealthy) {
+                        log.info("Audit broker reachable again");
+                        brokerHealthy = true;
                     }
                 } else {
-                    log.warn("Audit event send failed: {}", ex.getMessage());
+                    markUnhealthy(ex);
+                    // Completes on the drainer itself when the send fails fast; only other threads need the hand-off
+                    PendingRecord failed = new PendingRecord(topic, key, value);
+                    if (Thread.currentThread() == drainer) spill(failed);
+                    else handOff(failed);
                 }
             });
-        } catch (Exception e) {
-            log.warn("Failed to send audit event: {}", e.getMessage());
+        } catch (RuntimeException ex) {
+            markUnhealthy(ex);
+            spill(new PendingRecord(topic, key, value));
+            spill.flush();
+        }
+    }
+
+    private void maybeReplay() {
+        long now = System.currentTimeMillis();
+        if (now < nextAttemptAt || !spill.hasPending()) return;
+        if (!brokerHealthy) {
+            // Probe with the replay itself; failures land back in the spill file
+            nextAttemptAt = now + props.getReplayIntervalMillis();
+        }
+        try {
+            int n = spill.replay((topic, key, value) -> {
+                send(topic, key, value, replayed);
+                // Failed resends come back through the hand-off queue; keep it from filling during a long replay
+                if (toSpill.remainingCapacity() < props.getBatchSize()) spillHandedOff();
+            });
+            if (n > 0) log.info("Replayed {} spilled audit events", n);
+        } catch (java.io.IOException e) {
+            log.warn("Audit spill replay failed: {}", e.getMessage());
         }
+        nextAttemptAt = Math.max(nextAttemptAt, now + props.getReplayIntervalMillis());
     }
+
+    private void markUnhealthy(Throwable ex) {
+        if (brokerHealthy) {
+            log.warn("Audit event send failed, spilling to {} until the broker recovers: {}", props.getSpillPath(), ex.getMessage());
+        }
+        brokerHealthy = false;
+        nextAttemptAt = System.currentTimeMillis() + props.getReplayIntervalMillis();
+    }
+
+    /** Queues a record for the drainer to spill; never blocks and never does I/O on the calling thread. */
+    private void handOff(PendingRecord r) {
+        if (stopped || !toSpill.offer(r)) dropped.increment();
+    }
+
+    private void spillHandedOff() {
+        PendingRecord r;
+        while ((r = toSpill.poll()) != null) spill(r);
+        // Also covers sends in this cycle that failed fast and were spilled directly
+        spill.flush();
+        double total = dropped.count();
+        if (total > droppedReported) {
+            log.error("Dropped {} audit events: buffer and spill queue full, or producer stopped", (long) (total - droppedReported));
+            droppedReported = total;
+        }
+    }
+
+    private void spill(PendingRecord r) {
+        if (spill.append(r.topic(), r.key(), r.value())) spilled.increment();
+        else dropped.increment();
+    }
+
+    private record PendingRecord(String topic, String key, byte[] value) {}
 }
@@ -0,0 +1,19 @@
+package com.wms.customer.kafka;
+
+/**
+ * Wire formats an audit topic can be published in; sent as the {@code content-type} record header.
+ */
+public enum AuditFormat {
+    JSON("application/json"),
+    BINARY("application/vnd.wms.audit-event.v" + AuditEventBinaryCodec.SCHEMA_VERSION);
+
+    private final String contentType;
+
+    AuditFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,132 @@
+package com.wms.customer.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+
+/**
+ * Append-only local file holding audit records that could not reach Kafka, one {@code topic \t key \t base64(value)}
+ * line per record, so they can be replayed once the broker is reachable again.
+ * <p>
+ * Whether the spill and replay files exist is tracked in memory after one check at construction, so the drainer can
+ * poll {@link #hasPending()} without touching the file system. Once {@link #close()} has run, appends are refused
+ * rather than reopening the file behind the owner's back.
+ */
+@Slf4j
+class AuditSpillFile {
+    interface RecordSink {
+        void accept(String topic, String key, byte[] value);
+    }
+
+    private final Path path;
+    private final Path replayPath;
+    private BufferedWriter writer;
+    private boolean spillExists;
+    private boolean replayExists;
+    private boolean closed;
+
+    AuditSpillFile(Path path) {
+        this.path = path;
+        this.replayPath = path.resolveSibling(path.getFileName() + ".replay");
+        this.spillExists = Files.exists(path);
+        this.replayExists = Files.exists(replayPath);
+    }
+
+    /** Returns {@code false} when the record was not written: the file is closed or the write failed. */
+    synchronized boolean append(String topic, String key, byte[] value) {
+        if (closed) return false;
+        try {
+            if (writer == null) {
+                if (path.getParent() != null) Files.createDirectories(path.getParent());
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                spillExists = true;
+            }
+            writer.write(topic);
+            writer.write('\t');
+            writer.write(key != null ? key : "");
+            writer.write('\t');
+            writer.write(Base64.getEncoder().encodeToString(value));
+            writer.write('\n');
+            return true;
+        } catch (IOException e) {
+            log.error("Audit spill write failed, record dropped: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /** Pushes buffered lines to the OS; called once per drained batch rather than per record. */
+    synchronized void flush() {
+        if (writer == null) return;
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            log.error("Audit spill flush failed: {}", e.getMessage());
+        }
+    }
+
+    synchronized boolean hasPending() {
+        return spillExists || replayExists;
+    }
+
+    /**
+     * Moves the current file aside and feeds every record to {@code sink}. Records that fail again are expected to be
+     * appended back by the sink's failure path, so the replayed file is deleted once read.
+     */
+    int replay(RecordSink sink) throws IOException {
+        synchronized (this) {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+            if (!replayExists) {
+                if (!spillExists) return 0;
+                Files.move(path, replayPath, StandardCopyOption.ATOMIC_MOVE);
+                spillExists = false;
+                replayExists = true;
+            }
+        }
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replayPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int t1 = line.indexOf('\t');
+                int t2 = line.indexOf('\t', t1 + 1);
+                if (t1 < 0 || t2 < 0) continue;
+                byte[] value;
+                try {
+                    value = Base64.getDecoder().decode(line.substring(t2 + 1));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Skipping corrupt audit spill line");
+                    continue;
+                }
+                String key = line.substring(t1 + 1, t2);
+                sink.accept(line.substring(0, t1), key.isEmpty() ? null : key, value);
+                count++;
+            }
+        }
+        synchronized (this) {
+            Files.delete(replayPath);
+            replayExists = false;
+        }
+        return count;
+    }
+
+    synchronized void close() {
+        closed = true;
+        if (writer == null) return;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Audit spill close failed: {}", e.getMessage());
+        }
+        writer = null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.wms.customer.kafka;
+
+/**
+ * Outcome recorded on an audit event, with the one-byte codes used by the binary encoding.
+ */
+public enum AuditStatus {
+    SUCCESS(1),
+    FAILURE(2);
+
+    private static final AuditStatus[] BY_CODE = new AuditStatus[256];
+
+    static {
+        for (AuditStatus s : values()) BY_CODE[s.code] = s;
+    }
+
+    private final int code;
+
+    AuditStatus(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    /** Returns the status for a wire code, or {@code null} for 0 and for codes no status uses. */
+    public static AuditStatus fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+
+    /** Returns the status with this name, or {@code null} when it is not a known status. */
+    public static AuditStatus fromName(String name) {
+        if (name == null) return null;
+        for (AuditStatus s : values()) if (s.name().equals(name)) return s;
+        return null;
+    }
+}
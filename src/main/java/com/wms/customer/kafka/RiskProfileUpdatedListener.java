@@ -0,0 +1,179 @@
+package com.wms.customer.kafka;
+
+import com.wms.customer.cache.BoundedCache;
+import com.wms.customer.cache.CustomerSnapshotCache;
+import com.wms.customer.cache.RiskProfileCatalog;
+import com.wms.customer.config.RiskProfileConsumerProperties;
+import com.wms.customer.invalidation.CacheInvalidation;
+import com.wms.customer.invalidation.CacheInvalidationBus;
+import com.wms.customer.repository.MstCustomerJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Applies risk profile changes published by the CRP service in batches: each poll collapses to the latest event per
+ * customer and is written with a single set-based UPDATE.
+ * <p>
+ * Redelivered events are skipped by {@code eventId}. Within a batch, a later {@code occurredAt} wins and ties fall back
+ * to arrival order, which is per-customer order when the producer keys by customerId. Replays after a rebalance
+ * re-apply the same final assignment, so reprocessing is harmless.
+ * <p>
+ * Events naming a risk profile missing from {@link RiskProfileCatalog} are skipped. If the set-based UPDATE still
+ * fails, the batch is written row by row: rows the database rejects are skipped, and a transient failure is raised as
+ * a {@link BatchListenerFailedException} for that record so the container retries from it.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${kafka.enabled:false} and ${kafka.risk-profile-consumer.enabled:true}")
+public class RiskProfileUpdatedListener {
+    private final MstCustomerJdbcRepository jdbcRepository;
+    private final CustomerSnapshotCache snapshots;
+    private final CacheInvalidationBus invalidations;
+    private final RiskProfileCatalog riskProfileCatalog;
+    private final BoundedCache<UUID, Boolean> appliedEventIds;
+    private final Counter applied;
+    private final Counter skipped;
+    private final Timer batchTimer;
+
+    public RiskProfileUpdatedListener(MstCustomerJdbcRepository jdbcRepository, CustomerSnapshotCache snapshots,
+                                      CacheInvalidationBus invalidations, RiskProfileCatalog riskProfileCatalog,
+                                      RiskProfileConsumerProperties props, MeterRegistry registry) {
+        this.jdbcRepository = jdbcRepository;
+        this.snapshots = snapshots;
+        this.invalidations = invalidations;
+        this.riskProfileCatalog = riskProfileCatalog;
+        this.appliedEventIds = new BoundedCache<>(props.getDedupCacheSize());
+        this.applied = Counter.builder("customer.risk.profile.events").tag("result", "applied").register(registry);
+        this.skipped = Counter.builder("customer.risk.profile.events").tag("result", "skipped").register(registry);
+        this.batchTimer = Timer.builder("customer.risk.profile.batch").register(registry);
+    }
+
+    @KafkaListener(topics = "${kafka.risk-profile-consumer.topic:crp.risk-profile.updated}",
+            containerFactory = "riskProfileBatchListenerFactory")
+    public void onBatch(List<ConsumerRecord<String, RiskProfileUpdatedEvent>> records) {
+        batchTimer.record(() -> apply(records));
+    }
+
+    void apply(List<ConsumerRecord<String, RiskProfileUpdatedEvent>> records) {
+        // Index into records of the latest event per customer
+        Map<UUID, Integer> latest = new HashMap<>();
+        Set<UUID> eventIds = new HashSet<>();
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, RiskProfileUpdatedEvent> r = records.get(i);
+            RiskProfileUpdatedEvent e = r.value();
+            if (e == null || e.getCustomerId() == null || e.getRiskProfileId() == null) {
+                log.warn("Skipping unreadable risk profile event at {}-{}@{}", r.topic(), r.partition(), r.offset());
+                skipped.increment();
+                continue;
+            }
+            if (e.getEventId() != null && (appliedEventIds.get(e.getEventId()) != null || !eventIds.add(e.getEventId()))) {
+                skipped.increment();
+                continue;
+            }
+            Integer current = latest.get(e.getCustomerId());
+            if (current == null || !isOlder(e, records.get(current).value())) {
+                latest.put(e.getCustomerId(), i);
+            }
+        }
+
+        // In record order, so a failure part-way through can be resumed from the failing record
+        List<Integer> indexes = new ArrayList<>(latest.size());
+        for (int index : new TreeSet<>(latest.values())) {
+            RiskProfileUpdatedEvent e = records.get(index).value();
+            if (riskProfileCatalog.contains(e.getRiskProfileId())) {
+                indexes.add(index);
+            } else {
+                // Superseded events for this customer are dropped with it rather than applied out of order
+                log.warn("Skipping risk profile event at {}-{}@{}: unknown risk profile", records.get(index).topic(),
+                        records.get(index).partition(), records.get(index).offset());
+                skipped.increment();
+            }
+        }
+        if (!indexes.isEmpty()) {
+            Map<UUID, UUID> assignments = new LinkedHashMap<>(indexes.size() * 2);
+            for (int index : indexes) {
+                RiskProfileUpdatedEvent e = records.get(index).value();
+                assignments.put(e.getCustomerId(), e.getRiskProfileId());
+            }
+            int updated;
+            try {
+                updated = jdbcRepository.updateRiskProfiles(assignments);
+            } catch (DataAccessException e) {
+                log.warn("Risk profile batch of {} failed, applying one by one: {}", assignments.size(),
+                        e.getMostSpecificCause().getMessage());
+                updated = applyOneByOne(records, indexes, assignments);
+            }
+            assignments.forEach((customerId, riskProfileId) -> {
+                snapshots.update(customerId, s -> s.withIdRiskProfile(riskProfileId));
+                // Only one replica in the consumer group sees each event; the others learn of it through the bus
+                invalidations.publish(CacheInvalidation.customer(customerId));
+            });
+            applied.increment(assignments.size());
+            if (updated < assignments.size()) {
+                log.warn("Risk profile batch: {} customers in batch, {} rows updated (unknown customer ids ignored)",
+                        assignments.size(), updated);
+            }
+        }
+        eventIds.forEach(id -> appliedEventIds.put(id, Boolean.TRUE));
+    }
+
+    /**
+     * Writes each assignment on its own. A row the database refuses is skipped and dropped from {@code assignments};
+     * any other failure stops at that record so the container retries from there, with everything before it applied.
+     */
+    private int applyOneByOne(List<ConsumerRecord<String, RiskProfileUpdatedEvent>> records, List<Integer> indexes,
+                              Map<UUID, UUID> assignments) {
+        int updated = 0;
+        for (int index : indexes) {
+            ConsumerRecord<String, RiskProfileUpdatedEvent> r = records.get(index);
+            UUID customerId = r.value().getCustomerId();
+            try {
+                updated += jdbcRepository.updateRiskProfile(customerId, r.value().getRiskProfileId());
+            } catch (NonTransientDataAccessException e) {
+                log.warn("Skipping risk profile event at {}-{}@{}: {}", r.topic(), r.partition(), r.offset(),
+                        e.getMostSpecificCause().getMessage());
+                assignments.remove(customerId);
+                skipped.increment();
+            } catch (DataAccessException e) {
+                throw new BatchListenerFailedException("Risk profile update failed", e, index);
+            }
+        }
+        return updated;
+    }
+
+    private static boolean isOlder(RiskProfileUpdatedEvent candidate, RiskProfileUpdatedEvent current) {
+        OffsetDateTime a = parse(candidate.getOccurredAt());
+        OffsetDateTime b = parse(current.getOccurredAt());
+        return a != null && b != null && a.isBefore(b);
+    }
+
+    private static OffsetDateTime parse(String text) {
+        if (text == null) return null;
+        try {
+            return OffsetDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.wms.customer.logging;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * {@code %msg} replacement that masks e-mail addresses and 16-digit NIKs in the formatted log message, so PII passed
+ * to a logger by accident (a debug statement, an argument) does not reach the log sink in clear text. Only the message
+ * is covered; stack traces go through {@link MaskingThrowableProxyConverter}.
+ * <p>
+ * {@code user@example.com} becomes {@code u***@example.com}; a NIK keeps only its last four digits. Messages with no
+ * {@code '@'} and no long digit run are returned as-is without copying.
+ */
+public class MaskingMessageConverter extends MessageConverter {
+    static final int NIK_LENGTH = 16;
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return mask(event.getFormattedMessage());
+    }
+
+    public static String mask(String msg) {
+        if (msg == null || !needsMasking(msg)) return msg;
+        StringBuilder out = new StringBuilder(msg.length());
+        int i = 0;
+        int n = msg.length();
+        while (i < n) {
+            char c = msg.charAt(i);
+            if (isDigit(c)) {
+                int end = i;
+                while (end < n && isDigit(msg.charAt(end))) end++;
+                if (end - i == NIK_LENGTH) {
+                    out.append("************").append(msg, end - 4, end);
+                } else {
+                    out.append(msg, i, end);
+                }
+                i = end;
+            } else if (c == '@' && i > 0 && isLocalPart(msg.charAt(i - 1))) {
+                int start = out.length();
+                while (start > 0 && isLocalPart(out.charAt(start - 1))) start--;
+                out.setLength(start + 1);
+                out.append("***@");
+                i++;
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean needsMasking(String msg) {
+        int digits = 0;
+        for (int i = 0; i < msg.length(); i++) {
+            char c = msg.charAt(i);
+            if (c == '@') return true;
+            digits = isDigit(c) ? digits + 1 : 0;
+            if (digits >= NIK_LENGTH) return true;
+        }
+        return false;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLocalPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '.' || c == '_' || c == '-' || c == '+' || c == '%';
+    }
+}
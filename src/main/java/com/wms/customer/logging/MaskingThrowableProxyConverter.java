@@ -0,0 +1,16 @@
+package com.wms.customer.logging;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import org.springframework.boot.logging.logback.ExtendedWhitespaceThrowableProxyConverter;
+
+/**
+ * {@code %wEx} replacement that applies {@link MaskingMessageConverter#mask} to the rendered stack trace, so PII in an
+ * exception message (e.g. a unique violation's {@code Key (email)=(...)} detail) is masked like the log message itself.
+ */
+public class MaskingThrowableProxyConverter extends ExtendedWhitespaceThrowableProxyConverter {
+
+    @Override
+    protected String throwableProxyToString(IThrowableProxy tp) {
+        return MaskingMessageConverter.mask(super.throwableProxyToString(tp));
+    }
+}
@@ -0,0 +1,87 @@
+package com.wms.customer.metrics;
+
+import com.wms.customer.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times service operations and their phases as {@code customer.operation} and {@code customer.operation.phase},
+ * tagged with the operation, the phase and an outcome: {@code success}, the {@link BusinessException} message code,
+ * or {@code INTERNAL_ERROR}. Both publish percentile histograms so p99 can be computed across instances.
+ * <p>
+ * Each (name, operation, phase, outcome) timer is registered on first use and reused afterwards, so timing a call
+ * costs a map lookup rather than a builder and a registry lookup.
+ */
+@Component
+public class OperationTimings {
+    static final String OPERATION = "customer.operation";
+    static final String PHASE = "customer.operation.phase";
+    static final String SUCCESS = "success";
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<Key, Timer> timers = new ConcurrentHashMap<>();
+
+    public OperationTimings(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T operation(String operation, Supplier<T> work) {
+        return record(OPERATION, operation, null, work);
+    }
+
+    public void operation(String operation, Runnable work) {
+        record(OPERATION, operation, null, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T phase(String operation, String phase, Supplier<T> work) {
+        return record(PHASE, operation, phase, work);
+    }
+
+    public void phase(String operation, String phase, Runnable work) {
+        record(PHASE, operation, phase, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private <T> T record(String name, String operation, String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        String outcome = SUCCESS;
+        try {
+            return work.get();
+        } catch (BusinessException e) {
+            outcome = e.getMessageCode();
+            throw e;
+        } catch (RuntimeException | Error e) {
+            outcome = "INTERNAL_ERROR";
+            throw e;
+        } finally {
+            timer(new Key(name, operation, phase, outcome)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Key key) {
+        Timer timer = timers.get(key);
+        return timer != null ? timer : timers.computeIfAbsent(key, this::register);
+    }
+
+    private Timer register(Key key) {
+        Timer.Builder timer = Timer.builder(key.name())
+                .tag("operation", key.operation())
+                .tag("outcome", key.outcome())
+                .publishPercentileHistogram();
+        if (key.phase() != null) timer.tag("phase", key.phase());
+        return timer.register(registry);
+    }
+
+    private record Key(String name, String operation, String phase, String outcome) {
+    }
+}
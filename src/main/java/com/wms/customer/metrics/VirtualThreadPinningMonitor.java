@@ -0,0 +1,117 @@
+package com.wms.customer.metrics;
+
+import com.wms.customer.config.VirtualThreadProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event in-process while virtual-thread mode is on, so a blocking call
+ * made while holding a monitor (a {@code synchronized} block in a driver, pool or ORM on the JDBC path) shows up as
+ * {@code customer.virtual.thread.pinned{source}} and a throttled stack trace instead of as unexplained carrier
+ * starvation. {@code source} is the first recognised library on the pinned stack.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${spring.threads.virtual.enabled:false} and ${customer.virtual-threads.pinning-monitor-enabled:true}")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final List<String[]> SOURCES = List.of(
+            new String[] {"org.postgresql.", "jdbc-driver"},
+            new String[] {"com.zaxxer.hikari.", "connection-pool"},
+            new String[] {"org.hibernate.", "hibernate"},
+            new String[] {"org.springframework.orm.", "spring-orm"},
+            new String[] {"org.apache.kafka.", "kafka"},
+            new String[] {"com.wms.customer.", "application"});
+
+    private final VirtualThreadProperties props;
+    private final MeterRegistry registry;
+    private final LongSupplier nanoTime;
+    private final AtomicLong nextLogAt;
+    private volatile RecordingStream stream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(VirtualThreadProperties props, MeterRegistry registry) {
+        this(props, registry, System::nanoTime);
+    }
+
+    VirtualThreadPinningMonitor(VirtualThreadProperties props, MeterRegistry registry, LongSupplier nanoTime) {
+        this.props = props;
+        this.registry = registry;
+        this.nanoTime = nanoTime;
+        // nanoTime has an arbitrary origin and may be negative, so the first deadline is taken from it rather than 0
+        this.nextLogAt = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    @Override
+    public void start() {
+        if (Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled is set but the JVM is {}; requests run on platform threads",
+                    Runtime.version());
+            return;
+        }
+        RecordingStream rs = new RecordingStream();
+        rs.enable(EVENT).withThreshold(props.getPinningThreshold()).withStackTrace();
+        rs.onEvent(EVENT, this::onPinned);
+        rs.startAsync();
+        stream = rs;
+        log.info("Virtual thread pinning monitor started (threshold {})", props.getPinningThreshold());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream rs = stream;
+        stream = null;
+        if (rs != null) rs.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String source = source(frames);
+        Timer.builder("customer.virtual.thread.pinned")
+                .description("Sections where a virtual thread blocked while pinned to its carrier")
+                .tag("source", source)
+                .register(registry)
+                .record(event.getDuration());
+
+        long now = nanoTime.getAsLong();
+        long next = nextLogAt.get();
+        if (now - next >= 0 && nextLogAt.compareAndSet(next, now + props.getPinningLogInterval().toNanos())) {
+            log.warn("Virtual thread pinned for {} ms (source={}) at\n\t{}", event.getDuration().toMillis(), source,
+                    frames.stream().limit(12).map(VirtualThreadPinningMonitor::describe).collect(Collectors.joining("\n\t")));
+        }
+    }
+
+    static String source(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            for (String[] source : SOURCES) {
+                if (type.startsWith(source[0])) return source[1];
+            }
+        }
+        return "other";
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
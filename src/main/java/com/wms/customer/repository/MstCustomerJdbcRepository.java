@@ -0,0 +1,127 @@
+package com.wms.customer.repository;
+
+import com.wms.customer.dto.request.RiskProfileAssignment;
+import com.wms.customer.entity.EntityNames;
+import com.wms.customer.entity.MstCustomer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Set-based JDBC writes against {@code mst_customer} for paths where loading and saving entities one by one is too
+ * costly.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MstCustomerJdbcRepository {
+    private static final String UPDATE_RISK_PROFILES =
+            "update " + EntityNames.MST_CUSTOMER + " c set " + EntityNames.MstCustomer.ID_RISK_PROFILE + " = v.rp"
+                    + " from unnest(?::uuid[], ?::uuid[]) as v(cid, rp)"
+                    + " where c." + EntityNames.MstCustomer.CUSTOMER_ID + " = v.cid";
+
+    private static final String UPDATE_RISK_PROFILE =
+            "update " + EntityNames.MST_CUSTOMER + " set " + EntityNames.MstCustomer.ID_RISK_PROFILE + " = ?"
+                    + " where " + EntityNames.MstCustomer.CUSTOMER_ID + " = ?";
+
+    private static final String UPDATE_KYC =
+            "update " + EntityNames.MST_CUSTOMER + " set " + EntityNames.MstCustomer.NIK + " = ?, "
+                    + EntityNames.MstCustomer.POB + " = ?, " + EntityNames.MstCustomer.DOB + " = ?"
+                    + " where " + EntityNames.MstCustomer.CUSTOMER_ID + " = ?";
+
+    private static final String INSERT_IF_EMAIL_ABSENT =
+            "insert into " + EntityNames.MST_CUSTOMER + " (" + EntityNames.MstCustomer.CUSTOMER_ID
+                    + ", " + EntityNames.MstCustomer.NAME + ", " + EntityNames.MstCustomer.EMAIL
+                    + ", " + EntityNames.MstCustomer.PASSWORD_HASH + ", " + EntityNames.MstCustomer.NIK
+                    + ", " + EntityNames.MstCustomer.ADDRESS + ", " + EntityNames.MstCustomer.ID_RISK_PROFILE
+                    + ", " + EntityNames.MstCustomer.DOB + ", " + EntityNames.MstCustomer.POB + ")"
+                    + " values (?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                    // Only an email clash is expected; anything else (e.g. a customer_id collision) should still fail
+                    + " on conflict (" + EntityNames.MstCustomer.EMAIL + ") do nothing";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts a new customer in one statement, relying on the unique email constraint instead of a prior lookup.
+     *
+     * @return {@code false} when a customer with the same email already exists
+     */
+    public boolean insertIfEmailAbsent(MstCustomer c) {
+        return jdbcTemplate.update(INSERT_IF_EMAIL_ABSENT, c.getCustomerId(), c.getName(), c.getEmail(),
+                c.getPasswordHash(), c.getNik(), c.getAddress(), c.getIdRiskProfile(), c.getDob(), c.getPob()) == 1;
+    }
+
+    /**
+     * Writes the KYC columns and reads back the customer's email (for the audit event) in the same statement. The email
+     * is requested as a generated column, which the PostgreSQL driver sends as {@code returning email} and H2 answers
+     * natively, so the statement is the same on both.
+     *
+     * @return empty when the customer does not exist
+     */
+    public Optional<String> updateKyc(UUID customerId, String nik, String pob, LocalDate dob) {
+        KeyHolder email = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(UPDATE_KYC, new String[] {EntityNames.MstCustomer.EMAIL});
+            ps.setString(1, nik);
+            ps.setString(2, pob);
+            ps.setObject(3, dob);
+            ps.setObject(4, customerId);
+            return ps;
+        }, email);
+        return email.getKeyList().stream().findFirst()
+                .map(row -> row.values().iterator().next())
+                .map(Object::toString);
+    }
+
+    /**
+     * Applies every (customerId -> riskProfileId) pair in one statement by joining against two unnested arrays.
+     *
+     * @return number of customer rows updated
+     */
+    public int updateRiskProfiles(Map<UUID, UUID> riskProfileByCustomer) {
+        if (riskProfileByCustomer.isEmpty()) return 0;
+        UUID[] customerIds = new UUID[riskProfileByCustomer.size()];
+        UUID[] riskProfileIds = new UUID[riskProfileByCustomer.size()];
+        int i = 0;
+        for (Map.Entry<UUID, UUID> e : riskProfileByCustomer.entrySet()) {
+            customerIds[i] = e.getKey();
+            riskProfileIds[i++] = e.getValue();
+        }
+        return jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(UPDATE_RISK_PROFILES);
+            Array cids = con.createArrayOf("uuid", customerIds);
+            Array rps = con.createArrayOf("uuid", riskProfileIds);
+            ps.setArray(1, cids);
+            ps.setArray(2, rps);
+            return ps;
+        });
+    }
+
+    /**
+     * Sends one single-row UPDATE per assignment as a JDBC batch, in list order.
+     *
+     * @return update count per assignment; 0 means the customer does not exist
+     */
+    public int[] batchUpdateRiskProfiles(List<RiskProfileAssignment> assignments) {
+        if (assignments.isEmpty()) return new int[0];
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_RISK_PROFILE, assignments, assignments.size(), (ps, a) -> {
+            ps.setObject(1, a.getRiskProfileId());
+            ps.setObject(2, a.getCustomerId());
+        });
+        return counts.length == 0 ? new int[0] : counts[0];
+    }
+
+    /** Single-row variant of {@link #batchUpdateRiskProfiles(List)}, used to isolate a failing row. */
+    public int updateRiskProfile(UUID customerId, UUID riskProfileId) {
+        return jdbcTemplate.update(UPDATE_RISK_PROFILE, riskProfileId, customerId);
+    }
+}
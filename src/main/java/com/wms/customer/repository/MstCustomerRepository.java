@@ -1,7 +1,14 @@
 package com.wms.customer.repository;
 
 import com.wms.customer.entity.MstCustomer;
+import com.wms.customer.repository.projection.CustomerLoginView;
+import com.wms.customer.repository.projection.CustomerSnapshot;
+import com.wms.customer.repository.projection.CustomerTokenSubject;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -12,4 +19,43 @@ import java.util.UUID;
 public interface MstCustomerRepository extends JpaRepository<MstCustomer, UUID> {
     Optional<MstCustomer> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /**
+     * Loads the login view in one statement. Constructor results are not managed entities, so nothing is snapshotted
+     * or dirty-checked.
+     */
+    @Query("select new com.wms.customer.repository.projection.CustomerLoginView("
+            + "c.customerId, c.name, c.email, c.passwordHash, c.nik, c.pob, c.idRiskProfile, r.profileType) "
+            + "from MstCustomer c left join MstRiskProfileRef r on r.riskProfileId = c.idRiskProfile "
+            + "where c.email = :email")
+    Optional<CustomerLoginView> findLoginViewByEmail(@Param("email") String email);
+
+    @Query("select new com.wms.customer.repository.projection.CustomerTokenSubject(c.customerId, c.name, c.email) "
+            + "from MstCustomer c where c.customerId = :customerId")
+    Optional<CustomerTokenSubject> findTokenSubjectById(@Param("customerId") UUID customerId);
+
+    @Query("select new com.wms.customer.repository.projection.CustomerSnapshot("
+            + "c.customerId, c.name, c.email, c.nik, c.pob, c.dob, c.idRiskProfile) "
+            + "from MstCustomer c where c.customerId = :customerId")
+    Optional<CustomerSnapshot> findSnapshotById(@Param("customerId") UUID customerId);
+
+    @Query("select c.passwordHash from MstCustomer c where c.customerId = :customerId")
+    Optional<String> findPasswordHashById(@Param("customerId") UUID customerId);
+
+    /**
+     * Replaces the password hash only if it still equals {@code expectedHash}, the value the caller verified against.
+     *
+     * @return 0 when the customer is missing or the password changed concurrently
+     */
+    @Transactional
+    @Modifying
+    @Query("update MstCustomer c set c.passwordHash = :newHash where c.customerId = :customerId and c.passwordHash = :expectedHash")
+    int compareAndSetPasswordHash(@Param("customerId") UUID customerId,
+                                  @Param("expectedHash") String expectedHash,
+                                  @Param("newHash") String newHash);
+
+    @Transactional
+    @Modifying
+    @Query("update MstCustomer c set c.idRiskProfile = :riskProfileId where c.customerId = :customerId")
+    int updateRiskProfile(@Param("customerId") UUID customerId, @Param("riskProfileId") UUID riskProfileId);
 }
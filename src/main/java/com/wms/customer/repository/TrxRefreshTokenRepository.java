@@ -0,0 +1,45 @@
+package com.wms.customer.repository;
+
+import com.wms.customer.entity.TrxRefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for refresh tokens, looked up through the unique index on the token hash.
+ */
+public interface TrxRefreshTokenRepository extends JpaRepository<TrxRefreshToken, UUID> {
+    Optional<TrxRefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Marks a token as exchanged only if nobody has exchanged it yet.
+     *
+     * @return 0 when a concurrent request already rotated it
+     */
+    @Transactional
+    @Modifying
+    @Query("update TrxRefreshToken t set t.rotatedAt = :now where t.tokenId = :tokenId and t.rotatedAt is null")
+    int markRotated(@Param("tokenId") UUID tokenId, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update TrxRefreshToken t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update TrxRefreshToken t set t.revokedAt = :now where t.customerId = :customerId and t.revokedAt is null")
+    int revokeAllForCustomer(@Param("customerId") UUID customerId, @Param("now") Instant now);
+
+    /** Rotated tokens are kept until they expire so a replay can still be recognised. */
+    @Transactional
+    @Modifying
+    @Query("delete from TrxRefreshToken t where t.expiresAt < :before")
+    int deleteExpired(@Param("before") Instant before);
+}
@@ -0,0 +1,20 @@
+package com.wms.customer.repository.projection;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Read-only slice of a customer with exactly the columns login needs, plus the joined risk profile type.
+ */
+@Value
+public class CustomerLoginView {
+    UUID customerId;
+    String name;
+    String email;
+    String passwordHash;
+    String nik;
+    String pob;
+    UUID idRiskProfile;
+    String riskProfileType;
+}
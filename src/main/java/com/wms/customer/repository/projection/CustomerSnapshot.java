@@ -0,0 +1,22 @@
+package com.wms.customer.repository.projection;
+
+import lombok.Value;
+import lombok.With;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a customer's profile columns, everything except credentials, as held by the snapshot cache.
+ */
+@Value
+@With
+public class CustomerSnapshot {
+    UUID customerId;
+    String name;
+    String email;
+    String nik;
+    String pob;
+    LocalDate dob;
+    UUID idRiskProfile;
+}
@@ -0,0 +1,15 @@
+package com.wms.customer.repository.projection;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * The customer columns an access token carries as claims.
+ */
+@Value
+public class CustomerTokenSubject {
+    UUID customerId;
+    String name;
+    String email;
+}
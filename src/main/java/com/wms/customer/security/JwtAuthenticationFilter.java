@@ -0,0 +1,99 @@
+package com.wms.customer.security;
+
+import com.wms.customer.config.JwtVerificationProperties;
+import com.wms.customer.i18n.I18nMessageCollection;
+import com.wms.customer.web.PrecomputedResponses;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Requires a bearer token from {@link JwtTokenService} on the configured paths and replaces {@code X-User-Id} with
+ * the token's subject, so those endpoints no longer depend on the gateway having verified the caller. Runs after the
+ * access log filter so rejected requests are still logged.
+ * <p>
+ * Paths are matched the way the dispatcher resolves them: relative to the context path, percent-decoded and with
+ * {@code ;} path parameters removed, so {@code /v1/kyc;x=1} or {@code /v1/%6Byc} cannot reach a protected handler
+ * unchecked.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "security.jwt.verification.enabled", havingValue = "true")
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    static final String USER_ID_HEADER = "X-User-Id";
+    private static final String BEARER = "Bearer ";
+    private static final UrlPathHelper PATHS = UrlPathHelper.defaultInstance;
+
+    private final JwtVerifier verifier;
+    private final PrecomputedResponses responses;
+    private final Set<String> protectedPaths;
+
+    public JwtAuthenticationFilter(JwtVerifier verifier, PrecomputedResponses responses, JwtVerificationProperties props) {
+        this.verifier = verifier;
+        this.responses = responses;
+        this.protectedPaths = Set.copyOf(props.getProtectedPaths());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !protectedPaths.contains(PATHS.getPathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        VerifiedToken token = authorization != null && authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())
+                ? verifier.verify(authorization.substring(BEARER.length()).trim())
+                : null;
+        if (token == null) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            responses.write(response, HttpStatus.UNAUTHORIZED, I18nMessageCollection.AUTH_TOKEN_INVALID.name(), request.getLocale());
+            return;
+        }
+        chain.doFilter(new AuthenticatedRequest(request, token.subject().toString()), response);
+    }
+
+    /** Presents the verified subject as the only {@code X-User-Id} value, whatever the client sent. */
+    private static final class AuthenticatedRequest extends HttpServletRequestWrapper {
+        private final String userId;
+
+        AuthenticatedRequest(HttpServletRequest request, String userId) {
+            super(request);
+            this.userId = userId;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return USER_ID_HEADER.equalsIgnoreCase(name) ? userId : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return USER_ID_HEADER.equalsIgnoreCase(name) ? Collections.enumeration(Set.of(userId)) : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            Set<String> names = new LinkedHashSet<>(Collections.list(super.getHeaderNames()));
+            names.add(USER_ID_HEADER);
+            return Collections.enumeration(names);
+        }
+    }
+}
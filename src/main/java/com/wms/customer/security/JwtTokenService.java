@@ -1,59 +1,102 @@
 package com.wms.customer.security;
 
+import com.wms.customer.config.JwtProperties;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
-import java.time.Instant;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 
 /**
  * Generates JWT tokens for authenticated customers using configurable secrets and expirations.
+ * <p>
+ * Signing keys and their headers are built once at startup, so minting a token only sets the claims and signs them
+ * with jjwt; nothing is derived per call.
  */
+@Slf4j
 @Service
 public class JwtTokenService {
-    @Value("${security.jwt.secret:dev-secret-change-me}")
-    private String secret;
+    static final String DEFAULT_KID = "default";
 
-    @Value("${security.jwt.issuer:wms-gateway}")
-    private String issuer;
+    private final JwtProperties props;
 
-    @Value("${security.jwt.expMinutes:120}")
-    private long expMinutes;
+    private final Map<String, SigningKey> keysByKid;
+    private final SigningKey active;
 
-    private SecretKey key() {
-        // Derive a strong 256-bit key from any secret length to avoid WeakKeyException
-        try {
-            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
-            byte[] hashed = sha256.digest(secret.getBytes(StandardCharsets.UTF_8));
-            return Keys.hmacShaKeyFor(hashed);
-        } catch (Exception e) {
-            // Fallback (should not happen): rely on raw bytes
-            return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    public JwtTokenService(JwtProperties props) {
+        this.props = props;
+        Map<String, SigningKey> keys = new LinkedHashMap<>();
+        if (props.getKeys() == null || props.getKeys().isEmpty()) {
+            keys.put(DEFAULT_KID, new SigningKey(DEFAULT_KID, deriveKey(props.getSecret())));
+        } else {
+            props.getKeys().forEach((kid, secret) -> keys.put(kid, new SigningKey(kid, deriveKey(secret))));
         }
+        String activeKid = props.getActiveKid() != null ? props.getActiveKid() : keys.keySet().iterator().next();
+        SigningKey signing = keys.get(activeKid);
+        if (signing == null) {
+            throw new IllegalStateException("security.jwt.activeKid '" + activeKid + "' is not among the configured keys " + keys.keySet());
+        }
+        this.keysByKid = Collections.unmodifiableMap(keys);
+        this.active = signing;
+        log.info("JWT signing keys loaded: kids={}, active={}", keys.keySet(), activeKid);
     }
 
     public String createToken(UUID userId, String name, String email) {
-        Instant now = Instant.now();
-        Instant exp = now.plusSeconds(expMinutes * 60);
+        long iat = System.currentTimeMillis() / 1000;
+        long exp = iat + props.getExpMinutes() * 60;
         return Jwts.builder()
-                .setHeaderParam("typ", "JWT")
-                .setIssuer(issuer)
+                .setHeader(active.header)
+                .setIssuer(props.getIssuer())
                 .setSubject(userId.toString())
-                .addClaims(Map.of(
-                        "name", name,
-                        "email", email
-                ))
-                .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(exp))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .claim("name", name)
+                .claim("email", email)
+                .setIssuedAt(new Date(iat * 1000))
+                .setExpiration(new Date(exp * 1000))
+                .signWith(active.key, SignatureAlgorithm.HS256)
                 .compact();
     }
+
+    /** Returns the verification key for a token's {@code kid} header, or {@code null} when the kid is unknown. */
+    public SecretKey verificationKey(String kid) {
+        SigningKey k = keysByKid.get(kid != null ? kid : DEFAULT_KID);
+        return k != null ? k.key : null;
+    }
+
+    public String activeKid() {
+        return active.kid;
+    }
+
+    static SecretKey deriveKey(String secret) {
+        // Derive a strong 256-bit key from any secret length to avoid WeakKeyException
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Keys.hmacShaKeyFor(sha256.digest(secret.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private static final class SigningKey {
+        final String kid;
+        final SecretKey key;
+        /** {@code typ} and {@code kid}; jjwt adds {@code alg} when signing. */
+        final Map<String, Object> header;
+
+        SigningKey(String kid, SecretKey key) {
+            this.kid = kid;
+            this.key = key;
+            this.header = Map.of(JwsHeader.TYPE, JwsHeader.JWT_TYPE, JwsHeader.KEY_ID, kid);
+        }
+    }
 }
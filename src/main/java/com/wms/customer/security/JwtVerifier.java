@@ -0,0 +1,109 @@
+package com.wms.customer.security;
+
+import com.wms.customer.cache.BoundedCache;
+import com.wms.customer.config.JwtProperties;
+import com.wms.customer.config.JwtVerificationProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.time.Clock;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies access tokens minted by {@link JwtTokenService} and remembers the ones that passed until their {@code exp},
+ * so a client repeating calls with the same token pays for the HMAC and claims parsing once.
+ * <p>
+ * Cache entries are keyed by the complete compact token, not just its signature, so a cached result can only ever be
+ * returned for the exact bytes that were verified.
+ */
+@Component
+@ConditionalOnProperty(name = "security.jwt.verification.enabled", havingValue = "true")
+public class JwtVerifier {
+    private final JwtParser parser;
+    private final BoundedCache<String, VerifiedToken> cache;
+    private final Clock clock;
+    private final long allowedClockSkewSeconds;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer verifiedValid;
+    private final Timer verifiedInvalid;
+
+    @Autowired
+    public JwtVerifier(JwtTokenService tokens, JwtProperties jwtProps, JwtVerificationProperties props, MeterRegistry registry) {
+        this(tokens, jwtProps, props, registry, Clock.systemUTC());
+    }
+
+    JwtVerifier(JwtTokenService tokens, JwtProperties jwtProps, JwtVerificationProperties props, MeterRegistry registry, Clock clock) {
+        this.clock = clock;
+        this.allowedClockSkewSeconds = props.getAllowedClockSkew().toSeconds();
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = tokens.verificationKey(header.getKeyId());
+                        if (key == null) throw new JwtException("Unknown kid " + header.getKeyId());
+                        return key;
+                    }
+                })
+                .requireIssuer(jwtProps.getIssuer())
+                .setAllowedClockSkewSeconds(allowedClockSkewSeconds)
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+        this.cache = new BoundedCache<>(props.getCacheSize());
+        this.hits = Counter.builder("customer.jwt.verify.cache").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("customer.jwt.verify.cache").tag("result", "miss").register(registry);
+        this.verifiedValid = Timer.builder("customer.jwt.verify")
+                .description("Full signature and claims verification, paid on a cache miss")
+                .tag("result", "valid")
+                .register(registry);
+        this.verifiedInvalid = Timer.builder("customer.jwt.verify").tag("result", "invalid").register(registry);
+        Gauge.builder("customer.jwt.verify.cache.size", cache, BoundedCache::size).register(registry);
+    }
+
+    /**
+     * Returns the verified subject, or {@code null} when the token is malformed, forged, expired or from another
+     * issuer.
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) return null;
+        long now = clock.millis() / 1000;
+        VerifiedToken cached = cache.get(token);
+        if (cached != null) {
+            // Same leeway the parser gives exp, so a token does not expire earlier just because it was cached
+            if (cached.expiresAtEpochSecond() + allowedClockSkewSeconds > now) {
+                hits.increment();
+                return cached;
+            }
+            cache.remove(token);
+        }
+        misses.increment();
+
+        long started = System.nanoTime();
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() == null) throw new JwtException("Token has no exp");
+            VerifiedToken verified = new VerifiedToken(UUID.fromString(claims.getSubject()),
+                    claims.getExpiration().getTime() / 1000);
+            cache.put(token, verified);
+            verifiedValid.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return verified;
+        } catch (JwtException | IllegalArgumentException e) {
+            verifiedInvalid.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.wms.customer.security;
+
+import com.wms.customer.config.PasswordHashingProperties;
+import com.wms.customer.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs password hashing and verification (bcrypt, PBKDF2 or Argon2, per {@code security.hashing.algorithm}) on a
+ * bounded, core-sized pool so credential bursts cannot occupy every servlet thread. In virtual-thread mode the pool
+ * stays on platform threads: callers park on the future and release their carrier, so CPU-bound hashing never
+ * monopolises the carriers that run request handling.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    /** Runs rehash callbacks, which write to the database, off the CPU-sized hashing pool. */
+    private final ThreadPoolExecutor rehashWriter;
+    private final long maxWaitMillis;
+    private final boolean rehashOnLogin;
+    private final int rehashQueueHeadroom;
+    private final Timer waitTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+    private final Counter rehashScheduled;
+    private final Counter rehashSkipped;
+    private final Counter rehashFailed;
+
+    public PasswordHashingService(PasswordHashingProperties props, PasswordEncoder encoder, MeterRegistry registry) {
+        this.encoder = encoder;
+        this.rehashOnLogin = props.isRehashOnLogin();
+        // Background rehashes only use the first half of the queue, so they never displace interactive requests
+        this.rehashQueueHeadroom = props.getQueueCapacity() / 2;
+        int threads = props.getThreads() > 0 ? props.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.getQueueCapacity()),
+                r -> {
+                    Thread t = new Thread(r, "pwd-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitMillis = props.getMaxWaitMillis();
+        this.rehashWriter = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, rehashQueueHeadroom)),
+                r -> {
+                    Thread t = new Thread(r, "pwd-rehash-write");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("customer.password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hashing tasks waiting for a worker")
+                .register(registry);
+        Gauge.builder("customer.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing workers currently busy")
+                .register(registry);
+        this.waitTimer = Timer.builder("customer.password.hashing.wait")
+                .description("Time a hashing task spent queued before a worker picked it up")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejectedQueueFull = Counter.builder("customer.password.hashing.rejected")
+                .tag("reason", "queue_full")
+                .register(registry);
+        this.rejectedTimeout = Counter.builder("customer.password.hashing.rejected")
+                .tag("reason", "timeout")
+                .register(registry);
+        this.rehashScheduled = Counter.builder("customer.password.rehash").tag("result", "scheduled").register(registry);
+        this.rehashSkipped = Counter.builder("customer.password.rehash").tag("result", "skipped").register(registry);
+        this.rehashFailed = Counter.builder("customer.password.rehash").tag("result", "failed").register(registry);
+        log.info("Password hashing pool started: threads={}, queueCapacity={}, maxWaitMillis={}",
+                threads, props.getQueueCapacity(), maxWaitMillis);
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * True when {@code encodedPassword} uses another algorithm, an older work factor, or no {@code {id}} prefix. PBKDF2
+     * hashes do not record their iteration count, so a raised PBKDF2 count applies to new and changed passwords only.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return rehashOnLogin && encodedPassword != null && encoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Encodes {@code rawPassword} on the hashing pool without waiting and hands the new hash to {@code onEncoded} on a
+     * separate writer thread, so the database write it makes never holds a hashing worker. Skipped (and retried on a
+     * later login) when the pool is busier than half its queue or the writer is backed up.
+     */
+    public void encodeInBackground(CharSequence rawPassword, Consumer<String> onEncoded) {
+        if (executor.getQueue().size() >= rehashQueueHeadroom) {
+            rehashSkipped.increment();
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    String encoded = encoder.encode(rawPassword);
+                    rehashWriter.execute(() -> {
+                        try {
+                            onEncoded.accept(encoded);
+                        } catch (RuntimeException e) {
+                            rehashFailed.increment();
+                            log.warn("Background password rehash failed: {}", e.getMessage());
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    rehashSkipped.increment();
+                } catch (RuntimeException e) {
+                    rehashFailed.increment();
+                    log.warn("Background password rehash failed: {}", e.getMessage());
+                }
+            });
+            rehashScheduled.increment();
+        } catch (RejectedExecutionException e) {
+            rehashSkipped.increment();
+        }
+    }
+
+    private <T> T run(Callable<T> work) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return work.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            throw new TooManyRequestsException();
+        }
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A task still sitting in the queue is dropped; one already hashing finishes but its result is discarded
+            future.cancel(false);
+            executor.remove((Runnable) future);
+            rejectedTimeout.increment();
+            throw new TooManyRequestsException();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        rehashWriter.shutdownNow();
+    }
+}
@@ -0,0 +1,94 @@
+package com.wms.customer.security;
+
+import com.wms.customer.config.PasswordHashingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Picks the work factor of each password algorithm by timing it on this machine against
+ * {@code security.hashing.target-millis}. Spring Security's current defaults are the floor, so calibration only ever
+ * makes hashes more expensive.
+ */
+@Slf4j
+public final class PasswordWorkFactorCalibrator {
+    private static final String SAMPLE = "calibration-Sample-123";
+    static final int PBKDF2_BASE_ITERATIONS = 310_000;
+    static final int ARGON2_BASE_ITERATIONS = 2;
+    private static final int ARGON2_MEMORY_KIB = 1 << 14;
+
+    private PasswordWorkFactorCalibrator() {}
+
+    public static BCryptPasswordEncoder bcrypt(PasswordHashingProperties props) {
+        if (props.getBcryptStrength() != null) return new BCryptPasswordEncoder(props.getBcryptStrength());
+        int min = props.getBcryptMinStrength();
+        if (!props.isCalibrate()) return new BCryptPasswordEncoder(min);
+        double millis = time(new BCryptPasswordEncoder(min));
+        int strength = bcryptStrength(millis, min, props.getTargetMillis(), props.getBcryptMaxStrength());
+        log.info("bcrypt calibrated: cost {} took {} ms, using cost {} for a {} ms target",
+                min, Math.round(millis), strength, props.getTargetMillis());
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    public static Pbkdf2PasswordEncoder pbkdf2(PasswordHashingProperties props) {
+        int iterations = PBKDF2_BASE_ITERATIONS;
+        if (props.isCalibrate()) {
+            double millis = time(pbkdf2(PBKDF2_BASE_ITERATIONS));
+            iterations = scale(millis, PBKDF2_BASE_ITERATIONS, props.getTargetMillis(), 10 * PBKDF2_BASE_ITERATIONS);
+            log.info("PBKDF2 calibrated: {} iterations took {} ms, using {} for a {} ms target",
+                    PBKDF2_BASE_ITERATIONS, Math.round(millis), iterations, props.getTargetMillis());
+        }
+        return pbkdf2(iterations);
+    }
+
+    public static Argon2PasswordEncoder argon2(PasswordHashingProperties props) {
+        int iterations = ARGON2_BASE_ITERATIONS;
+        if (props.isCalibrate()) {
+            double millis = time(argon2(ARGON2_BASE_ITERATIONS));
+            iterations = scale(millis, ARGON2_BASE_ITERATIONS, props.getTargetMillis(), 10 * ARGON2_BASE_ITERATIONS);
+            log.info("Argon2 calibrated: {} iterations took {} ms, using {} for a {} ms target",
+                    ARGON2_BASE_ITERATIONS, Math.round(millis), iterations, props.getTargetMillis());
+        }
+        return argon2(iterations);
+    }
+
+    /** Each bcrypt cost step doubles the work: take the highest cost whose projected time stays within the target. */
+    static int bcryptStrength(double millisAtMin, int min, long targetMillis, int max) {
+        int strength = min;
+        double projected = millisAtMin;
+        while (strength < max && projected * 2 <= targetMillis) {
+            strength++;
+            projected *= 2;
+        }
+        return strength;
+    }
+
+    /** Work grows linearly with iterations. */
+    static int scale(double millisAtBase, int base, long targetMillis, int max) {
+        if (millisAtBase <= 0) return base;
+        long scaled = (long) (base * (targetMillis / millisAtBase));
+        return (int) Math.max(base, Math.min(max, scaled));
+    }
+
+    private static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", 16, iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    private static Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(16, 32, 1, ARGON2_MEMORY_KIB, iterations);
+    }
+
+    /** Best of three after a warm-up, which discards JIT and scheduling noise. */
+    private static double time(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long t0 = System.nanoTime();
+            encoder.encode(SAMPLE);
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        return best / 1e6;
+    }
+}
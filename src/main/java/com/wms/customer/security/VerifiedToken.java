@@ -0,0 +1,9 @@
+package com.wms.customer.security;
+
+import java.util.UUID;
+
+/**
+ * Subject and expiry of an access token whose signature, issuer and lifetime have been checked.
+ */
+public record VerifiedToken(UUID subject, long expiresAtEpochSecond) {
+}
@@ -1,5 +1,7 @@
 package com.wms.customer.service.implementation;
 
+import com.wms.customer.cache.CustomerSnapshotCache;
+import com.wms.customer.cache.EmailExistenceIndex;
 import com.wms.customer.dto.request.ChangePasswordRequest;
 import com.wms.customer.dto.request.LoginRequest;
 import com.wms.customer.dto.request.RegisterRequest;
@@ -7,14 +9,20 @@ import com.wms.customer.dto.response.LoginResponse;
 import com.wms.customer.dto.response.RegisterResponse;
 import com.wms.customer.entity.MstCustomer;
 import com.wms.customer.exception.BusinessException;
+import com.wms.customer.id.CustomerIdGenerator;
+import com.wms.customer.invalidation.CacheInvalidation;
+import com.wms.customer.invalidation.CacheInvalidationBus;
+import com.wms.customer.repository.MstCustomerJdbcRepository;
 import com.wms.customer.repository.MstCustomerRepository;
+import com.wms.customer.repository.projection.CustomerLoginView;
 import com.wms.customer.config.CustomerDefaultsProperties;
 import com.wms.customer.kafka.AuditEventProducer;
-import com.wms.customer.repository.MstRiskProfileRefRepository;
+import com.wms.customer.metrics.OperationTimings;
 import com.wms.customer.security.JwtTokenService;
+import com.wms.customer.security.PasswordHashingService;
 import com.wms.customer.service.interfacing.AuthService;
+import com.wms.customer.service.interfacing.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -27,86 +35,133 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
     private final MstCustomerRepository customerRepository;
+    private final MstCustomerJdbcRepository customerJdbcRepository;
     private final JwtTokenService jwtTokenService;
     private final AuditEventProducer auditEventProducer;
     private final CustomerDefaultsProperties defaults;
-    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-    private final MstRiskProfileRefRepository riskProfileRepository;
+    private final PasswordHashingService passwordHashing;
+    private final EmailExistenceIndex emailIndex;
+    private final CustomerIdGenerator customerIdGenerator;
+    private final OperationTimings timings;
+    private final RefreshTokenService refreshTokens;
+    private final CustomerSnapshotCache snapshots;
+    private final CacheInvalidationBus invalidations;
 
-    public boolean checkEmail(String email) { return customerRepository.existsByEmail(email); }
+    public boolean checkEmail(String email) {
+        return timings.operation("check_email", () -> emailIndex.exists(email));
+    }
 
     public RegisterResponse register(RegisterRequest req) {
-        if (customerRepository.existsByEmail(req.getEmail())) {
-            auditEventProducer.sendAuditEvent("REGISTER_FAILURE", null, req.getEmail(), "FAILURE", "Email already exists");
+        return timings.operation("register", () -> doRegister(req));
+    }
+
+    public LoginResponse login(LoginRequest req) {
+        return timings.operation("login", () -> doLogin(req));
+    }
+
+    public void changePassword(UUID customerId, ChangePasswordRequest req) {
+        timings.operation("change_password", () -> doChangePassword(customerId, req));
+    }
+
+    public void updateRiskProfile(UUID customerId, UUID riskProfileId) {
+        timings.operation("update_risk_profile", () -> {
+            if (timings.phase("update_risk_profile", "db_write", () -> customerRepository.updateRiskProfile(customerId, riskProfileId)) == 0) {
+                throw new BusinessException("AUTH_INVALID_CREDENTIALS");
+            }
+            snapshots.update(customerId, s -> s.withIdRiskProfile(riskProfileId));
+            invalidations.publish(CacheInvalidation.customer(customerId));
+        });
+    }
+
+    private RegisterResponse doRegister(RegisterRequest req) {
+        if (timings.phase("register", "email_check", () -> emailIndex.exists(req.getEmail()))) {
+            audit("register", "REGISTER_FAILURE", null, req.getEmail(), "FAILURE", "Email already exists");
             throw new BusinessException("EMAIL_ALREADY_EXISTS");
         }
+        // Hash outside the try so a saturated hashing pool surfaces as 429 rather than REGISTER_FAILURE
+        String passwordHash = timings.phase("register", "password_hash", () -> passwordHashing.encode(req.getPassword()));
+        MstCustomer c = new MstCustomer();
+        c.setCustomerId(customerIdGenerator.next());
+        c.setName(req.getName());
+        c.setEmail(req.getEmail());
+        c.setPasswordHash(passwordHash);
+        c.setNik(defaults.getNikPlaceholder());
+        c.setAddress(req.getAddress());
+        c.setDob(defaults.isDefaultDobNow() ? java.time.LocalDate.now() : null);
+        c.setPob(defaults.getPobPlaceholder());
+        boolean inserted;
         try {
-            MstCustomer c = new MstCustomer();
-            c.setCustomerId(UUID.randomUUID());
-            c.setName(req.getName());
-            c.setEmail(req.getEmail());
-            c.setPasswordHash(encoder.encode(req.getPassword()));
-            c.setNik(defaults.getNikPlaceholder());
-            c.setAddress(req.getAddress());
-            c.setDob(defaults.isDefaultDobNow() ? java.time.LocalDate.now() : null);
-            c.setPob(defaults.getPobPlaceholder());
-            customerRepository.save(c);
-            auditEventProducer.sendAuditEvent("REGISTER_SUCCESS", String.valueOf(c.getCustomerId()), c.getEmail(), "SUCCESS", "Registered");
-            return RegisterResponse.builder().customerId(c.getCustomerId()).name(c.getName()).email(c.getEmail()).address(c.getAddress()).build();
+            inserted = timings.phase("register", "db_write", () -> customerJdbcRepository.insertIfEmailAbsent(c));
         } catch (RuntimeException ex) {
-            auditEventProducer.sendAuditEvent("REGISTER_FAILURE", null, req.getEmail(), "FAILURE", ex.getMessage());
+            audit("register", "REGISTER_FAILURE", null, req.getEmail(), "FAILURE", ex.getMessage());
             org.slf4j.LoggerFactory.getLogger(getClass()).error("Register failed for email={}", req.getEmail(), ex);
             throw new BusinessException("REGISTER_FAILURE");
         }
+        // The unique email constraint is authoritative; the index check above only spares the hash for known emails
+        if (!inserted) {
+            audit("register", "REGISTER_FAILURE", null, req.getEmail(), "FAILURE", "Email already exists");
+            throw new BusinessException("EMAIL_ALREADY_EXISTS");
+        }
+        emailIndex.recordRegistered(c.getEmail());
+        invalidations.publish(CacheInvalidation.email(c.getEmail()));
+        audit("register", "REGISTER_SUCCESS", String.valueOf(c.getCustomerId()), c.getEmail(), "SUCCESS", "Registered");
+        return RegisterResponse.builder().customerId(c.getCustomerId()).name(c.getName()).email(c.getEmail()).address(c.getAddress()).build();
     }
 
-    public LoginResponse login(LoginRequest req) {
-        Optional<MstCustomer> opt = customerRepository.findByEmail(req.getEmail());
-        if (opt.isEmpty() || !encoder.matches(req.getPassword(), opt.get().getPasswordHash())) {
-            auditEventProducer.sendAuditEvent("LOGIN_FAILURE", null, req.getEmail(), "FAILURE", "Invalid credentials");
+    private LoginResponse doLogin(LoginRequest req) {
+        // The projection joins the risk profile type, so this phase also covers risk profile resolution
+        Optional<CustomerLoginView> opt = timings.phase("login", "db_fetch", () -> customerRepository.findLoginViewByEmail(req.getEmail()));
+        if (opt.isEmpty() || !timings.phase("login", "password_verify", () -> passwordHashing.matches(req.getPassword(), opt.get().getPasswordHash()))) {
+            audit("login", "LOGIN_FAILURE", null, req.getEmail(), "FAILURE", "Invalid credentials");
             throw new BusinessException("AUTH_INVALID_CREDENTIALS");
         }
-        MstCustomer c = opt.get();
+        CustomerLoginView c = opt.get();
+        if (passwordHashing.needsRehash(c.getPasswordHash())) {
+            // Compare-and-set against the hash just verified, so a concurrent password change is never overwritten
+            passwordHashing.encodeInBackground(req.getPassword(),
+                    newHash -> customerRepository.compareAndSetPasswordHash(c.getCustomerId(), c.getPasswordHash(), newHash));
+        }
         // Generate JWT token for client use
-        String token = jwtTokenService.createToken(c.getCustomerId(), c.getName(), c.getEmail());
-        auditEventProducer.sendAuditEvent("LOGIN_SUCCESS", String.valueOf(c.getCustomerId()), c.getEmail(), "SUCCESS", "Login");
+        String token = timings.phase("login", "token_mint", () -> jwtTokenService.createToken(c.getCustomerId(), c.getName(), c.getEmail()));
+        String refreshToken = timings.phase("login", "refresh_issue", () -> refreshTokens.issue(c.getCustomerId()));
+        audit("login", "LOGIN_SUCCESS", String.valueOf(c.getCustomerId()), c.getEmail(), "SUCCESS", "Login");
         boolean kycComplete = c.getNik() != null && !"-".equals(c.getNik()) && c.getPob() != null && !c.getPob().isBlank();
         boolean crpComplete = c.getIdRiskProfile() != null;
-        String riskProfileType = null;
-        if (crpComplete) {
-            try {
-                riskProfileType = riskProfileRepository.findById(c.getIdRiskProfile())
-                        .map(r -> r.getProfileType())
-                        .orElse(null);
-            } catch (Exception ignored) {}
-        }
+        String riskProfileType = crpComplete ? c.getRiskProfileType() : null;
         return LoginResponse.builder()
                 .customerId(c.getCustomerId())
                 .name(c.getName())
                 .email(c.getEmail())
                 .token(token)
+                .refreshToken(refreshToken)
                 .kycComplete(kycComplete)
                 .crpComplete(crpComplete)
                 .riskProfileType(riskProfileType)
                 .build();
     }
 
-    public void changePassword(UUID customerId, ChangePasswordRequest req) {
-        MstCustomer c = customerRepository.findById(customerId).orElseThrow(() -> new BusinessException("AUTH_INVALID_CREDENTIALS"));
-        if (!encoder.matches(req.getCurrentPassword(), c.getPasswordHash())) {
+    private void doChangePassword(UUID customerId, ChangePasswordRequest req) {
+        String currentHash = timings.phase("change_password", "db_fetch", () -> customerRepository.findPasswordHashById(customerId))
+                .orElseThrow(() -> new BusinessException("AUTH_INVALID_CREDENTIALS"));
+        if (!timings.phase("change_password", "password_verify", () -> passwordHashing.matches(req.getCurrentPassword(), currentHash))) {
             throw new BusinessException("CURRENT_PASSWORD_INVALID");
         }
         if (!req.getNewPassword().equals(req.getConfirmNewPassword()) || !policyOk(req.getNewPassword())) {
             throw new BusinessException("PASSWORD_POLICY_VIOLATION");
         }
-        c.setPasswordHash(encoder.encode(req.getNewPassword()));
-        customerRepository.save(c);
+        String newHash = timings.phase("change_password", "password_hash", () -> passwordHashing.encode(req.getNewPassword()));
+        // The hash verified above acts as the version: a concurrent change makes this update match no row
+        if (timings.phase("change_password", "db_write", () -> customerRepository.compareAndSetPasswordHash(customerId, currentHash, newHash)) == 0) {
+            throw new BusinessException("CURRENT_PASSWORD_INVALID");
+        }
+        snapshots.invalidate(customerId);
+        invalidations.publish(CacheInvalidation.customer(customerId));
+        // Sessions opened with the old password must not outlive it
+        timings.phase("change_password", "refresh_revoke", () -> refreshTokens.revokeAll(customerId));
     }
 
-    public void updateRiskProfile(UUID customerId, UUID riskProfileId) {
-        MstCustomer c = customerRepository.findById(customerId).orElseThrow(() -> new BusinessException("AUTH_INVALID_CREDENTIALS"));
-        c.setIdRiskProfile(riskProfileId);
-        customerRepository.save(c);
+    private void audit(String operation, String action, String customerId, String email, String status, String description) {
+        timings.phase(operation, "audit_enqueue", () -> auditEventProducer.sendAuditEvent(action, customerId, email, status, description));
     }
 
     private boolean policyOk(String p) {
@@ -1,11 +1,15 @@
 package com.wms.customer.service.implementation;
 
+import com.wms.customer.cache.CustomerSnapshotCache;
 import com.wms.customer.dto.request.KycRequest;
 import com.wms.customer.dto.response.KycResponse;
-import com.wms.customer.entity.MstCustomer;
 import com.wms.customer.exception.BusinessException;
+import com.wms.customer.invalidation.CacheInvalidation;
+import com.wms.customer.invalidation.CacheInvalidationBus;
 import com.wms.customer.kafka.AuditEventProducer;
-import com.wms.customer.repository.MstCustomerRepository;
+import com.wms.customer.metrics.OperationTimings;
+import com.wms.customer.repository.MstCustomerJdbcRepository;
+import com.wms.customer.repository.projection.CustomerSnapshot;
 import com.wms.customer.service.interfacing.KycService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -18,12 +22,25 @@ import java.util.UUID;
 @Service
 @RequiredArgsConstructor
 public class KycServiceImpl implements KycService {
-    private final MstCustomerRepository repository;
+    private final MstCustomerJdbcRepository jdbcRepository;
     private final AuditEventProducer auditEventProducer;
+    private final OperationTimings timings;
+    private final CustomerSnapshotCache snapshots;
+    private final CacheInvalidationBus invalidations;
 
     @Override
     public KycResponse getStatus(UUID customerId) {
-        MstCustomer c = repository.findById(customerId).orElseThrow(() -> new BusinessException("AUTH_INVALID_CREDENTIALS"));
+        return timings.operation("kyc_status", () -> doGetStatus(customerId));
+    }
+
+    @Override
+    public KycResponse submit(UUID customerId, KycRequest req) {
+        return timings.operation("kyc_submit", () -> doSubmit(customerId, req));
+    }
+
+    private KycResponse doGetStatus(UUID customerId) {
+        CustomerSnapshot c = timings.phase("kyc_status", "snapshot_fetch", () -> snapshots.get(customerId))
+                .orElseThrow(() -> new BusinessException("AUTH_INVALID_CREDENTIALS"));
         boolean complete = c.getNik() != null && !"-".equals(c.getNik())
                 && c.getPob() != null && !"-".equals(c.getPob())
                 && c.getDob() != null;
@@ -36,23 +53,24 @@ public class KycServiceImpl implements KycService {
                 .build();
     }
 
-    @Override
-    public KycResponse submit(UUID customerId, KycRequest req) {
+    private KycResponse doSubmit(UUID customerId, KycRequest req) {
         if (req.getNik() == null || req.getNik().length() != 16 || !req.getNik().chars().allMatch(Character::isDigit)) {
             throw new BusinessException("KYC_VALIDATION_FAILED");
         }
-        MstCustomer c = repository.findById(customerId).orElseThrow(() -> new BusinessException("AUTH_INVALID_CREDENTIALS"));
-        c.setNik(req.getNik());
-        c.setPob(req.getPob());
-        c.setDob(req.getDob());
-        repository.save(c);
+        // The update returns the email for the audit event, so no separate lookup is needed
+        String email = timings.phase("kyc_submit", "db_write",
+                        () -> jdbcRepository.updateKyc(customerId, req.getNik(), req.getPob(), req.getDob()))
+                .orElseThrow(() -> new BusinessException("AUTH_INVALID_CREDENTIALS"));
+        snapshots.update(customerId, s -> s.withNik(req.getNik()).withPob(req.getPob()).withDob(req.getDob()));
+        invalidations.publish(CacheInvalidation.customer(customerId));
 
-        auditEventProducer.sendAuditEvent("KYC_UPDATED", c.getCustomerId().toString(), c.getEmail(), "SUCCESS", "KYC updated");
+        timings.phase("kyc_submit", "audit_enqueue",
+                () -> auditEventProducer.sendAuditEvent("KYC_UPDATED", customerId.toString(), email, "SUCCESS", "KYC updated"));
         return KycResponse.builder()
                 .kycStatus("COMPLETE")
-                .nik(c.getNik())
-                .pob(c.getPob())
-                .dob(c.getDob() != null ? c.getDob().toString() : null)
+                .nik(req.getNik())
+                .pob(req.getPob())
+                .dob(req.getDob() != null ? req.getDob().toString() : null)
                 .build();
     }
 }
@@ -0,0 +1,175 @@
+package com.wms.customer.service.implementation;
+
+import com.wms.customer.config.RefreshTokenProperties;
+import com.wms.customer.dto.response.TokenRefreshResponse;
+import com.wms.customer.entity.TrxRefreshToken;
+import com.wms.customer.exception.BusinessException;
+import com.wms.customer.id.CustomerIdGenerator;
+import com.wms.customer.metrics.OperationTimings;
+import com.wms.customer.repository.MstCustomerRepository;
+import com.wms.customer.repository.TrxRefreshTokenRepository;
+import com.wms.customer.repository.projection.CustomerTokenSubject;
+import com.wms.customer.security.JwtTokenService;
+import com.wms.customer.service.interfacing.RefreshTokenService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Opaque refresh tokens: 256 random bits handed to the client, stored only as their SHA-256. A token's entropy makes a
+ * slow hash pointless, so a refresh costs one indexed lookup, two small writes and an HMAC instead of a bcrypt check.
+ * <p>
+ * Every refresh rotates the token. Presenting a token that was already rotated means it was copied, so the whole
+ * family descending from that login is revoked and both the legitimate client and the copy have to log in again.
+ */
+@Slf4j
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+    private static final Base64.Encoder TOKEN_ENCODING = Base64.getUrlEncoder().withoutPadding();
+    private static final String INVALID = "AUTH_REFRESH_TOKEN_INVALID";
+
+    private final TrxRefreshTokenRepository tokenRepository;
+    private final MstCustomerRepository customerRepository;
+    private final JwtTokenService jwtTokenService;
+    private final CustomerIdGenerator idGenerator;
+    private final TransactionOperations tx;
+    private final RefreshTokenProperties props;
+    private final OperationTimings timings;
+    private final SecureRandom random = new SecureRandom();
+    private final Clock clock;
+    private final Counter rotated;
+    private final Counter invalid;
+    private final Counter expired;
+    private final Counter reused;
+
+    @Autowired
+    public RefreshTokenServiceImpl(TrxRefreshTokenRepository tokenRepository, MstCustomerRepository customerRepository,
+                                   JwtTokenService jwtTokenService, CustomerIdGenerator idGenerator,
+                                   TransactionOperations tx, RefreshTokenProperties props, OperationTimings timings,
+                                   MeterRegistry registry) {
+        this(tokenRepository, customerRepository, jwtTokenService, idGenerator, tx, props, timings, registry, Clock.systemUTC());
+    }
+
+    RefreshTokenServiceImpl(TrxRefreshTokenRepository tokenRepository, MstCustomerRepository customerRepository,
+                            JwtTokenService jwtTokenService, CustomerIdGenerator idGenerator,
+                            TransactionOperations tx, RefreshTokenProperties props, OperationTimings timings,
+                            MeterRegistry registry, Clock clock) {
+        this.tokenRepository = tokenRepository;
+        this.customerRepository = customerRepository;
+        this.jwtTokenService = jwtTokenService;
+        this.idGenerator = idGenerator;
+        this.tx = tx;
+        this.props = props;
+        this.timings = timings;
+        this.clock = clock;
+        this.rotated = Counter.builder("customer.auth.refresh").tag("result", "rotated").register(registry);
+        this.invalid = Counter.builder("customer.auth.refresh").tag("result", "invalid").register(registry);
+        this.expired = Counter.builder("customer.auth.refresh").tag("result", "expired").register(registry);
+        this.reused = Counter.builder("customer.auth.refresh").tag("result", "reuse").register(registry);
+    }
+
+    @Override
+    public String issue(UUID customerId) {
+        return store(customerId, idGenerator.next(), clock.instant());
+    }
+
+    @Override
+    public TokenRefreshResponse refresh(String refreshToken) {
+        return timings.operation("refresh_token", () -> doRefresh(refreshToken));
+    }
+
+    @Override
+    public void revokeAll(UUID customerId) {
+        tokenRepository.revokeAllForCustomer(customerId, clock.instant());
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh-token.purge-interval:PT1H}",
+            initialDelayString = "${security.refresh-token.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int deleted = tokenRepository.deleteExpired(clock.instant());
+        if (deleted > 0) log.debug("Purged {} expired refresh tokens", deleted);
+    }
+
+    private TokenRefreshResponse doRefresh(String refreshToken) {
+        String hash = hash(refreshToken);
+        Instant now = clock.instant();
+        Rotation rotation = timings.phase("refresh_token", "db_rotate", () -> tx.execute(status -> rotate(hash, now)));
+        switch (rotation.result) {
+            case INVALID -> invalid.increment();
+            case EXPIRED -> expired.increment();
+            case REUSED -> {
+                reused.increment();
+                log.warn("Refresh token replayed for customerId={}, token family revoked", rotation.customerId);
+            }
+            case ROTATED -> rotated.increment();
+        }
+        if (rotation.result != Result.ROTATED) throw new BusinessException(INVALID);
+
+        CustomerTokenSubject subject = timings.phase("refresh_token", "db_fetch",
+                () -> customerRepository.findTokenSubjectById(rotation.customerId)).orElseThrow(() -> new BusinessException(INVALID));
+        String token = timings.phase("refresh_token", "token_mint",
+                () -> jwtTokenService.createToken(subject.getCustomerId(), subject.getName(), subject.getEmail()));
+        return TokenRefreshResponse.builder()
+                .customerId(subject.getCustomerId())
+                .token(token)
+                .refreshToken(rotation.nextToken)
+                .build();
+    }
+
+    private Rotation rotate(String hash, Instant now) {
+        Optional<TrxRefreshToken> found = tokenRepository.findByTokenHash(hash);
+        if (found.isEmpty()) return new Rotation(Result.INVALID, null, null);
+        TrxRefreshToken current = found.get();
+        if (current.getRevokedAt() != null) return new Rotation(Result.INVALID, current.getCustomerId(), null);
+        if (!current.getExpiresAt().isAfter(now)) return new Rotation(Result.EXPIRED, current.getCustomerId(), null);
+        // Already rotated, or rotated by a concurrent request between the read and this update: both are replays
+        if (current.getRotatedAt() != null || tokenRepository.markRotated(current.getTokenId(), now) == 0) {
+            tokenRepository.revokeFamily(current.getFamilyId(), now);
+            return new Rotation(Result.REUSED, current.getCustomerId(), null);
+        }
+        return new Rotation(Result.ROTATED, current.getCustomerId(), store(current.getCustomerId(), current.getFamilyId(), now));
+    }
+
+    private String store(UUID customerId, UUID familyId, Instant now) {
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        String token = TOKEN_ENCODING.encodeToString(secret);
+        tokenRepository.save(TrxRefreshToken.builder()
+                .tokenId(idGenerator.next())
+                .customerId(customerId)
+                .familyId(familyId)
+                .tokenHash(hash(token))
+                .issuedAt(now)
+                .expiresAt(now.plus(props.getTtl()))
+                .build());
+        return token;
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return TOKEN_ENCODING.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private enum Result { ROTATED, INVALID, EXPIRED, REUSED }
+
+    private record Rotation(Result result, UUID customerId, String nextToken) {
+    }
+}
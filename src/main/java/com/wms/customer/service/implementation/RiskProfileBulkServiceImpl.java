@@ -0,0 +1,210 @@
+package com.wms.customer.service.implementation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.wms.customer.cache.CustomerSnapshotCache;
+import com.wms.customer.cache.RiskProfileCatalog;
+import com.wms.customer.config.RiskProfileBulkProperties;
+import com.wms.customer.dto.request.RiskProfileAssignment;
+import com.wms.customer.dto.response.BulkRiskProfileResponse;
+import com.wms.customer.invalidation.CacheInvalidation;
+import com.wms.customer.invalidation.CacheInvalidationBus;
+import com.wms.customer.repository.MstCustomerJdbcRepository;
+import com.wms.customer.service.interfacing.RiskProfileBulkService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies bulk risk profile assignments as chunked JDBC batches, one transaction per chunk.
+ * <p>
+ * Rows are consumed as they arrive, so neither a JSON array nor an NDJSON body is held in memory in full, and a row
+ * that does not map to an assignment is reported like any other failed row. Unknown risk profiles are
+ * filtered against {@link RiskProfileCatalog} before the batch is sent; if a batch still fails, its rows are retried
+ * one by one to pin down the culprit.
+ */
+@Slf4j
+@Service
+public class RiskProfileBulkServiceImpl implements RiskProfileBulkService {
+    static final String INVALID_ROW = "INVALID_ROW";
+    static final String CUSTOMER_NOT_FOUND = "CUSTOMER_NOT_FOUND";
+    static final String RISK_PROFILE_NOT_FOUND = "RISK_PROFILE_NOT_FOUND";
+    static final String UPDATE_FAILED = "UPDATE_FAILED";
+
+    private final MstCustomerJdbcRepository jdbcRepository;
+    private final RiskProfileCatalog riskProfileCatalog;
+    private final TransactionOperations tx;
+    private final RiskProfileBulkProperties props;
+    private final ObjectReader rowReader;
+    private final CustomerSnapshotCache snapshots;
+    private final CacheInvalidationBus invalidations;
+
+    public RiskProfileBulkServiceImpl(MstCustomerJdbcRepository jdbcRepository,
+                                      RiskProfileCatalog riskProfileCatalog, CustomerSnapshotCache snapshots,
+                                      CacheInvalidationBus invalidations,
+                                      TransactionOperations tx, RiskProfileBulkProperties props, ObjectMapper mapper) {
+        this.jdbcRepository = jdbcRepository;
+        this.riskProfileCatalog = riskProfileCatalog;
+        this.snapshots = snapshots;
+        this.invalidations = invalidations;
+        this.tx = tx;
+        this.props = props;
+        this.rowReader = mapper.readerFor(RiskProfileAssignment.class);
+    }
+
+    @Override
+    public BulkRiskProfileResponse assignJson(InputStream jsonArray) throws IOException {
+        Run run = new Run();
+        try (JsonParser parser = rowReader.createParser(jsonArray)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw MismatchedInputException.from(parser, RiskProfileAssignment[].class, "Expected a JSON array of assignments");
+            }
+            long row = 0;
+            while (true) {
+                JsonNode element;
+                try {
+                    if (parser.nextToken() == JsonToken.END_ARRAY) break;
+                    element = parser.readValueAsTree();
+                } catch (JsonProcessingException e) {
+                    // Broken syntax: where the following rows start is unknown, so report this one and apply what
+                    // came before
+                    run.add(++row, null);
+                    break;
+                }
+                RiskProfileAssignment a;
+                try {
+                    a = rowReader.readValue(element);
+                } catch (JsonProcessingException e) {
+                    a = null;
+                }
+                run.add(++row, a);
+            }
+        }
+        return run.finish();
+    }
+
+    @Override
+    public BulkRiskProfileResponse assignNdjson(InputStream ndjson) throws IOException {
+        Run run = new Run();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        long line = 0;
+        for (String text; (text = reader.readLine()) != null; ) {
+            line++;
+            if (text.isBlank()) continue;
+            RiskProfileAssignment a;
+            try {
+                a = rowReader.readValue(text);
+            } catch (JsonProcessingException e) {
+                a = null;
+            }
+            run.add(line, a);
+        }
+        return run.finish();
+    }
+
+    /** State of one bulk request: the pending chunk plus running totals. */
+    private final class Run {
+        private final List<Long> rows = new ArrayList<>();
+        private final List<RiskProfileAssignment> chunk = new ArrayList<>();
+        private final List<BulkRiskProfileResponse.RowFailure> failures = new ArrayList<>();
+        private long received;
+        private long updated;
+        private long failed;
+
+        void add(long row, RiskProfileAssignment a) {
+            received++;
+            if (a == null || a.getCustomerId() == null || a.getRiskProfileId() == null) {
+                fail(row, a != null ? a.getCustomerId() : null, INVALID_ROW);
+                return;
+            }
+            rows.add(row);
+            chunk.add(a);
+            if (chunk.size() >= props.getChunkSize()) flush();
+        }
+
+        private void fail(long row, UUID customerId, String reason) {
+            failed++;
+            if (failures.size() < props.getMaxReportedFailures()) {
+                failures.add(new BulkRiskProfileResponse.RowFailure(row, customerId, reason));
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) return;
+            List<Long> batchRows = new ArrayList<>(chunk.size());
+            List<RiskProfileAssignment> batch = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                RiskProfileAssignment a = chunk.get(i);
+                if (riskProfileCatalog.contains(a.getRiskProfileId())) {
+                    batchRows.add(rows.get(i));
+                    batch.add(a);
+                } else {
+                    fail(rows.get(i), a.getCustomerId(), RISK_PROFILE_NOT_FOUND);
+                }
+            }
+            chunk.clear();
+            rows.clear();
+            if (batch.isEmpty()) return;
+
+            int[] counts;
+            try {
+                counts = tx.execute(status -> jdbcRepository.batchUpdateRiskProfiles(batch));
+            } catch (DataAccessException e) {
+                log.warn("Risk profile batch of {} rows failed, retrying row by row: {}", batch.size(), e.getMostSpecificCause().getMessage());
+                applyOneByOne(batchRows, batch);
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                record(batchRows.get(i), batch.get(i), counts != null && i < counts.length ? counts[i] : Statement.SUCCESS_NO_INFO);
+            }
+        }
+
+        private void applyOneByOne(List<Long> batchRows, List<RiskProfileAssignment> batch) {
+            for (int i = 0; i < batch.size(); i++) {
+                RiskProfileAssignment a = batch.get(i);
+                try {
+                    record(batchRows.get(i), a, jdbcRepository.updateRiskProfile(a.getCustomerId(), a.getRiskProfileId()));
+                } catch (DataAccessException e) {
+                    fail(batchRows.get(i), a.getCustomerId(), UPDATE_FAILED);
+                }
+            }
+        }
+
+        private void record(long row, RiskProfileAssignment a, int count) {
+            if (count == 0) {
+                fail(row, a.getCustomerId(), CUSTOMER_NOT_FOUND);
+            } else {
+                updated++;
+                snapshots.update(a.getCustomerId(), s -> s.withIdRiskProfile(a.getRiskProfileId()));
+                invalidations.publish(CacheInvalidation.customer(a.getCustomerId()));
+            }
+        }
+
+        BulkRiskProfileResponse finish() {
+            flush();
+            log.info("Bulk risk profile assignment: received={} updated={} failed={}", received, updated, failed);
+            return BulkRiskProfileResponse.builder()
+                    .received(received)
+                    .updated(updated)
+                    .failed(failed)
+                    .failures(failures)
+                    .build();
+        }
+    }
+}
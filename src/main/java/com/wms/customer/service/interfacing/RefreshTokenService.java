@@ -0,0 +1,15 @@
+package com.wms.customer.service.interfacing;
+
+import com.wms.customer.dto.response.TokenRefreshResponse;
+
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens, so access tokens can be renewed without re-checking the password.
+ */
+public interface RefreshTokenService {
+    /** Starts a new token family for a freshly authenticated customer and returns its first token. */
+    String issue(UUID customerId);
+    TokenRefreshResponse refresh(String refreshToken);
+    void revokeAll(UUID customerId);
+}
@@ -0,0 +1,15 @@
+package com.wms.customer.service.interfacing;
+
+import com.wms.customer.dto.response.BulkRiskProfileResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Applies risk profile assignments in bulk, reporting rows that could not be applied instead of failing the request.
+ */
+public interface RiskProfileBulkService {
+    /** @throws com.fasterxml.jackson.core.JsonProcessingException when the body is not a JSON array at all */
+    BulkRiskProfileResponse assignJson(InputStream jsonArray) throws IOException;
+    BulkRiskProfileResponse assignNdjson(InputStream ndjson) throws IOException;
+}
@@ -0,0 +1,134 @@
+package com.wms.customer.throttle;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-instance {@link ThrottleStore}. Keys are spread over independent stripes, each a {@link ConcurrentHashMap} of
+ * one {@link AtomicLong} per key, so an attempt is a map lookup plus a compare-and-set with no lock.
+ * <p>
+ * The key space is bounded twice over. A timing wheel of {@code wheelSlots} x {@code tickMillis} holds each key once,
+ * in the slot of the time its bucket will be full again; sweeps run lazily on the calling thread as ticks pass and
+ * drop keys that have refilled, since an absent key behaves exactly like a full bucket. Expiry further out than one
+ * revolution is parked in the last slot and re-examined. If a stripe still reaches its share of {@code maxKeys},
+ * attempts for keys it does not already track are let through uncharged and counted by {@link #overflowed()} until
+ * room frees up. Keys already tracked keep their state, so a flood of distinct keys can neither grow the map, reset
+ * the buckets it is racing against, nor lock every other new caller out behind one shared bucket.
+ * <p>
+ * A sweep that removes a key at the same moment another thread updates it loses that one update; this only happens
+ * to buckets that were full, so the cost is at most one extra attempt.
+ */
+public class InMemoryThrottleStore implements ThrottleStore {
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private final int maxKeysPerStripe;
+    private final ConcurrentLinkedQueue<String>[] wheel;
+    private final int wheelMask;
+    private final long tickMillis;
+    private final AtomicLong sweptTick = new AtomicLong(Long.MIN_VALUE);
+    private final LongAdder overflowed = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public InMemoryThrottleStore(int stripes, int maxKeys, long tickMillis, int wheelSlots) {
+        int stripeCount = ceilPowerOfTwo(stripes);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) this.stripes[i] = new Stripe();
+        this.stripeShift = 32 - Integer.numberOfTrailingZeros(stripeCount);
+        this.maxKeysPerStripe = Math.max(1, maxKeys / stripeCount);
+        int slots = ceilPowerOfTwo(Math.max(2, wheelSlots));
+        this.wheel = new ConcurrentLinkedQueue[slots];
+        for (int i = 0; i < slots; i++) this.wheel[i] = new ConcurrentLinkedQueue<>();
+        this.wheelMask = slots - 1;
+        this.tickMillis = Math.max(1, tickMillis);
+    }
+
+    @Override
+    public long tryAcquire(String key, ThrottleLimit limit, long nowMillis) {
+        advance(nowMillis);
+        Stripe stripe = stripe(key);
+        AtomicLong tat = stripe.cells.get(key);
+        if (tat == null) tat = admit(stripe, key, limit, nowMillis);
+        if (tat == null) return 0;
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, nowMillis) + limit.refillMillis();
+            long ahead = next - nowMillis;
+            if (ahead > limit.horizonMillis()) return ahead - limit.horizonMillis();
+            if (tat.compareAndSet(current, next)) return 0;
+        }
+    }
+
+    @Override
+    public void expire(long nowMillis) {
+        advance(nowMillis);
+    }
+
+    @Override
+    public long size() {
+        long n = 0;
+        for (Stripe s : stripes) n += s.cells.size();
+        return n;
+    }
+
+    /** Attempts let through without a bucket because their stripe was full. */
+    public long overflowed() {
+        return overflowed.sum();
+    }
+
+    private AtomicLong admit(Stripe stripe, String key, ThrottleLimit limit, long nowMillis) {
+        if (stripe.cells.size() >= maxKeysPerStripe) {
+            overflowed.increment();
+            return null;
+        }
+        AtomicLong created = new AtomicLong();
+        AtomicLong existing = stripe.cells.putIfAbsent(key, created);
+        if (existing != null) return existing;
+        schedule(key, nowMillis + limit.horizonMillis(), nowMillis);
+        return created;
+    }
+
+    private void schedule(String key, long dueMillis, long nowMillis) {
+        long currentTick = nowMillis / tickMillis;
+        long tick = Math.min(dueMillis / tickMillis, currentTick + wheelMask);
+        wheel[(int) (Math.max(tick, currentTick + 1) & wheelMask)].add(key);
+    }
+
+    /** Sweeps every completed tick since the last sweep, at most one revolution; one caller wins, the rest move on. */
+    private void advance(long nowMillis) {
+        long upTo = nowMillis / tickMillis - 1;
+        long done = sweptTick.get();
+        if (upTo <= done || !sweptTick.compareAndSet(done, upTo)) return;
+        for (long t = Math.max(done + 1, upTo - wheelMask); t <= upTo; t++) {
+            sweep(wheel[(int) (t & wheelMask)], nowMillis);
+        }
+    }
+
+    private void sweep(ConcurrentLinkedQueue<String> slot, long nowMillis) {
+        // Bounded by the size on entry so keys re-parked in this slot wait for its next turn
+        int pending = slot.size();
+        String key;
+        while (pending-- > 0 && (key = slot.poll()) != null) {
+            Stripe stripe = stripe(key);
+            AtomicLong tat = stripe.cells.get(key);
+            if (tat == null) continue;
+            long due = tat.get();
+            if (due <= nowMillis) stripe.cells.remove(key, tat);
+            else schedule(key, due, nowMillis);
+        }
+    }
+
+    private Stripe stripe(String key) {
+        // High bits of a multiplicative hash, so the maps inside a stripe still see well-spread low bits
+        return stripes[stripeShift == 32 ? 0 : (key.hashCode() * 0x9E3779B9) >>> stripeShift];
+    }
+
+    private static int ceilPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private static final class Stripe {
+        final ConcurrentHashMap<String, AtomicLong> cells = new ConcurrentHashMap<>();
+    }
+}
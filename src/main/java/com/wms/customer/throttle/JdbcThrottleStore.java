@@ -0,0 +1,52 @@
+package com.wms.customer.throttle;
+
+import com.wms.customer.entity.EntityNames;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+/**
+ * Cluster-wide {@link ThrottleStore} on PostgreSQL: every replica charges the same {@code trx_login_throttle} row, so
+ * the configured limits hold for the whole deployment rather than per instance. A granted attempt is one upsert that
+ * advances the key's arrival time only if it stays inside the limit; a refused one costs a second, indexed read to
+ * work out the retry delay. Rows whose buckets have refilled are deleted by {@link #expire}.
+ */
+public class JdbcThrottleStore implements ThrottleStore {
+    private static final String TABLE = EntityNames.TRX_LOGIN_THROTTLE;
+    private static final String KEY = EntityNames.TrxLoginThrottle.THROTTLE_KEY;
+    private static final String TAT = EntityNames.TrxLoginThrottle.TAT_MILLIS;
+
+    private static final String ACQUIRE =
+            "insert into " + TABLE + " as t (" + KEY + ", " + TAT + ") values (?, ?)"
+                    + " on conflict (" + KEY + ") do update set " + TAT + " = greatest(t." + TAT + ", ?) + ?"
+                    + " where greatest(t." + TAT + ", ?) + ? - ? <= ?"
+                    + " returning " + TAT;
+
+    private static final String CURRENT = "select " + TAT + " from " + TABLE + " where " + KEY + " = ?";
+
+    private static final String EXPIRE = "delete from " + TABLE + " where " + TAT + " <= ?";
+
+    private static final ResultSetExtractor<Long> FIRST_LONG = rs -> rs.next() ? rs.getLong(1) : null;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcThrottleStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long tryAcquire(String key, ThrottleLimit limit, long nowMillis) {
+        long refill = limit.refillMillis();
+        Long granted = jdbcTemplate.query(ACQUIRE, FIRST_LONG,
+                key, nowMillis + refill, nowMillis, refill, nowMillis, refill, nowMillis, limit.horizonMillis());
+        if (granted != null) return 0;
+        Long tat = jdbcTemplate.query(CURRENT, FIRST_LONG, key);
+        // The row can be purged between the two statements; the next attempt will simply be granted
+        if (tat == null) return 1;
+        return Math.max(1, Math.max(tat, nowMillis) + refill - nowMillis - limit.horizonMillis());
+    }
+
+    @Override
+    public void expire(long nowMillis) {
+        jdbcTemplate.update(EXPIRE, nowMillis);
+    }
+}
@@ -0,0 +1,138 @@
+package com.wms.customer.throttle;
+
+import com.wms.customer.config.LoginThrottleProperties;
+import com.wms.customer.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Rate-limits login attempts per normalised email, and per client IP when {@code ip-enabled}, before any credential
+ * work is done, so a rejected attempt costs neither a database lookup nor a password hash. The IP bucket is charged
+ * first, which keeps a single client spraying many addresses from filling the email key space.
+ * <p>
+ * When the store fails (e.g. the shared table is unreachable) the attempt is let through: login would hit the same
+ * database next, and an outage of the limiter should not become an outage of login.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+    private static final String EMAIL_PREFIX = "e:";
+    private static final String IP_PREFIX = "i:";
+
+    private final ThrottleStore store;
+    private final LoginThrottleProperties props;
+    private final ThrottleLimit emailLimit;
+    private final ThrottleLimit ipLimit;
+    private final Clock clock;
+
+    private final Counter emailAllowed;
+    private final Counter emailRejected;
+    private final Counter ipAllowed;
+    private final Counter ipRejected;
+    private final Counter storeErrors;
+
+    @Autowired
+    public LoginThrottle(ThrottleStore store, LoginThrottleProperties props, MeterRegistry registry) {
+        this(store, props, registry, Clock.systemUTC());
+    }
+
+    LoginThrottle(ThrottleStore store, LoginThrottleProperties props, MeterRegistry registry, Clock clock) {
+        this.store = store;
+        this.props = props;
+        this.emailLimit = limit(props.getEmail());
+        this.ipLimit = limit(props.getIp());
+        this.clock = clock;
+
+        String name = "customer.login.throttle";
+        this.emailAllowed = Counter.builder(name).tag("key", "email").tag("result", "allowed").register(registry);
+        this.emailRejected = Counter.builder(name).tag("key", "email").tag("result", "rejected").register(registry);
+        this.ipAllowed = Counter.builder(name).tag("key", "ip").tag("result", "allowed").register(registry);
+        this.ipRejected = Counter.builder(name).tag("key", "ip").tag("result", "rejected").register(registry);
+        this.storeErrors = Counter.builder(name).tag("key", "any").tag("result", "store_error").register(registry);
+        Gauge.builder("customer.login.throttle.keys", store, ThrottleStore::size)
+                .description("Keys holding bucket state; -1 when the store does not track it")
+                .register(registry);
+        if (store instanceof InMemoryThrottleStore memory) {
+            FunctionCounter.builder("customer.login.throttle.overflow", memory, InMemoryThrottleStore::overflowed)
+                    .description("Attempts let through unthrottled because the key space was full")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Charges one login attempt to the client IP, if IP limiting is on, and then to the email.
+     *
+     * @throws TooManyRequestsException with a retry delay when either bucket is empty
+     */
+    public void check(String email, String clientIp) {
+        if (!props.isEnabled()) return;
+        long now = clock.millis();
+        if (props.isIpEnabled() && clientIp != null) {
+            long wait = acquire(IP_PREFIX + clientIp, ipLimit, now);
+            if (wait > 0) {
+                ipRejected.increment();
+                throw new TooManyRequestsException("AUTH_LOGIN_THROTTLED", Duration.ofMillis(wait));
+            }
+            ipAllowed.increment();
+        }
+        if (email != null) {
+            long wait = acquire(EMAIL_PREFIX + normalize(email), emailLimit, now);
+            if (wait > 0) {
+                emailRejected.increment();
+                throw new TooManyRequestsException("AUTH_LOGIN_THROTTLED", Duration.ofMillis(wait));
+            }
+            emailAllowed.increment();
+        }
+    }
+
+    /** The caller's address: the first {@code X-Forwarded-For} hop when trusted, otherwise the socket peer. */
+    public String clientIp(HttpServletRequest request) {
+        if (props.isTrustForwardedFor()) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    @Scheduled(fixedDelayString = "${customer.login-throttle.purge-interval:PT5M}",
+            initialDelayString = "${customer.login-throttle.purge-interval:PT5M}")
+    public void expireIdleKeys() {
+        try {
+            store.expire(clock.millis());
+        } catch (RuntimeException e) {
+            log.warn("Login throttle expiry failed: {}", e.getMessage());
+        }
+    }
+
+    private long acquire(String key, ThrottleLimit limit, long now) {
+        try {
+            return store.tryAcquire(key, limit, now);
+        } catch (RuntimeException e) {
+            storeErrors.increment();
+            log.warn("Login throttle store unavailable, allowing attempt: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static ThrottleLimit limit(LoginThrottleProperties.Limit limit) {
+        return new ThrottleLimit(limit.getCapacity(), limit.getRefillEvery().toMillis());
+    }
+}
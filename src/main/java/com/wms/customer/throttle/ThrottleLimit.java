@@ -0,0 +1,18 @@
+package com.wms.customer.throttle;
+
+/**
+ * Token bucket shape: up to {@code capacity} tokens, one regained every {@code refillMillis}.
+ */
+public record ThrottleLimit(int capacity, long refillMillis) {
+
+    public ThrottleLimit {
+        if (capacity < 1 || refillMillis < 1) {
+            throw new IllegalArgumentException("capacity and refillMillis must be positive");
+        }
+    }
+
+    /** How far ahead of now a key's theoretical arrival time may run before the next attempt is refused. */
+    public long horizonMillis() {
+        return capacity * refillMillis;
+    }
+}
@@ -0,0 +1,28 @@
+package com.wms.customer.throttle;
+
+/**
+ * Holds token bucket state for {@link LoginThrottle}. Buckets are kept in GCRA form: a single "theoretical arrival
+ * time" per key, which is equivalent to a token bucket but updates with one compare-and-set (or one upsert) instead of
+ * a read-modify-write of a count and a timestamp.
+ * <p>
+ * {@link InMemoryThrottleStore} is the per-instance default and {@link JdbcThrottleStore} shares state across
+ * replicas; registering another {@code ThrottleStore} bean (e.g. backed by Redis) replaces both.
+ */
+public interface ThrottleStore {
+
+    /**
+     * Takes one token from the bucket for {@code key}.
+     *
+     * @return {@code 0} when the token was granted, otherwise the milliseconds until one becomes available
+     */
+    long tryAcquire(String key, ThrottleLimit limit, long nowMillis);
+
+    /** Drops state for keys whose buckets have fully refilled; called periodically. */
+    default void expire(long nowMillis) {
+    }
+
+    /** Keys currently holding state, or {@code -1} when the store cannot tell cheaply. */
+    default long size() {
+        return -1;
+    }
+}
@@ -0,0 +1,71 @@
+package com.wms.customer.web;
+
+import com.wms.customer.config.AccessLogProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one key=value access-log event per request to the {@code ACCESS} logger, which {@code logback-spring.xml}
+ * routes through a bounded asynchronous appender.
+ * <p>
+ * The keep/drop decision is made before anything is formatted: errors and requests slower than the threshold are
+ * always kept, successful ones only at {@code success-sample-rate}, so dropped requests cost a clock read and a
+ * random draw. Request bodies are never logged.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AccessLogFilter extends OncePerRequestFilter {
+    private static final Logger ACCESS = LoggerFactory.getLogger("ACCESS");
+
+    private final AccessLogProperties props;
+
+    public AccessLogFilter(AccessLogProperties props) {
+        this.props = props;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!props.isEnabled() || !ACCESS.isInfoEnabled()) return true;
+        String uri = request.getRequestURI();
+        for (String prefix : props.getExcludePathPrefixes()) {
+            if (uri.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            if (shouldLog(status, micros)) {
+                ACCESS.info("method={} path={} status={} latencyMs={} userId={}",
+                        request.getMethod(), request.getRequestURI(), status,
+                        micros / 1000.0, request.getHeader("X-User-Id"));
+            }
+        }
+    }
+
+    boolean shouldLog(int status, long latencyMicros) {
+        if (status >= 400 || latencyMicros >= props.getSlowThresholdMillis() * 1000) return true;
+        double rate = props.getSuccessSampleRate();
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -1,18 +1,29 @@
 package com.wms.customer.web;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.wms.customer.dto.request.*;
 import com.wms.customer.dto.response.*;
 import lombok.Data;
 import com.wms.customer.service.interfacing.AuthService;
 import com.wms.customer.service.interfacing.KycService;
+import com.wms.customer.service.interfacing.RefreshTokenService;
+import com.wms.customer.service.interfacing.RiskProfileBulkService;
+import com.wms.customer.throttle.LoginThrottle;
+import jakarta.servlet.http.HttpServletRequest;
 import com.wms.customer.i18n.I18nMessageCollection;
+import com.wms.customer.i18n.LocalizedMessages;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.MessageSource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
@@ -20,70 +31,89 @@ import java.util.UUID;
 @RestController
 @RequestMapping
 @RequiredArgsConstructor
-@Slf4j
 public class CustomerController {
     private final AuthService authService;
     private final KycService kycService;
-    private final MessageSource messageSource;
+    private final RefreshTokenService refreshTokenService;
+    private final RiskProfileBulkService riskProfileBulkService;
+    private final LocalizedMessages messages;
+    private final PrecomputedResponses responses;
+    private final LoginThrottle loginThrottle;
 
     @PostMapping("/v1/user/check-email")
-    public ResponseEntity<ResponseWrapper<Map<String, Object>>> checkEmail(@RequestBody @Valid CheckEmailRequest req, Locale locale) {
-        log.info("[customer] check-email email={}", req.getEmail());
+    @ApiResponse(responseCode = "200", description = "OK",
+            content = @Content(schema = @Schema(implementation = ResponseSchemas.ResponseWrapperMapStringObject.class)))
+    public ResponseEntity<byte[]> checkEmail(@RequestBody @Valid CheckEmailRequest req, Locale locale) {
         boolean exists = authService.checkEmail(req.getEmail());
-        String msg = I18nMessageCollection.EMAIL_CHECKED.localized(messageSource, locale);
-        log.info("[customer] check-email email={} exists={}", req.getEmail(), exists);
-        return ResponseEntity.ok(ApiResponseUtil.success(Map.of("exists", exists), I18nMessageCollection.EMAIL_CHECKED.name(), msg));
+        return responses.success(I18nMessageCollection.EMAIL_CHECKED.name(), locale, PrecomputedResponses.Shape.exists(exists));
     }
 
     @PostMapping("/v1/auth/register")
     public ResponseEntity<ResponseWrapper<RegisterResponse>> register(@RequestBody @Valid RegisterRequest req, Locale locale) {
-        log.info("[customer] register email={} name={}", req.getEmail(), req.getName());
         RegisterResponse res = authService.register(req);
-        String msg = I18nMessageCollection.REGISTER_SUCCESS.localized(messageSource, locale);
-        log.info("[customer] register success customerId={} email={}", res.getCustomerId(), res.getEmail());
+        String msg = messages.get(I18nMessageCollection.REGISTER_SUCCESS, locale);
         return ResponseEntity.ok(ApiResponseUtil.success(res, I18nMessageCollection.REGISTER_SUCCESS.name(), msg));
 
     }
 
     @PostMapping("/v1/auth/login")
-    public ResponseEntity<ResponseWrapper<LoginResponse>> login(@RequestBody @Valid LoginRequest req, Locale locale) {
-        log.info("[customer] login email={}", req.getEmail());
+    public ResponseEntity<ResponseWrapper<LoginResponse>> login(@RequestBody @Valid LoginRequest req, HttpServletRequest request, Locale locale) {
+        loginThrottle.check(req.getEmail(), loginThrottle.clientIp(request));
         LoginResponse res = authService.login(req);
-        String msg = I18nMessageCollection.LOGIN_SUCCESS.localized(messageSource, locale);
-        log.info("[customer] login success customerId={} kycComplete={}", res.getCustomerId(), res.isKycComplete());
+        String msg = messages.get(I18nMessageCollection.LOGIN_SUCCESS, locale);
         return ResponseEntity.ok(ApiResponseUtil.success(res, I18nMessageCollection.LOGIN_SUCCESS.name(), msg));
     }
 
+    @PostMapping("/v1/auth/refresh")
+    public ResponseEntity<ResponseWrapper<TokenRefreshResponse>> refresh(@RequestBody @Valid RefreshTokenRequest req, Locale locale) {
+        TokenRefreshResponse res = refreshTokenService.refresh(req.getRefreshToken());
+        String msg = messages.get(I18nMessageCollection.TOKEN_REFRESH_SUCCESS, locale);
+        return ResponseEntity.ok(ApiResponseUtil.success(res, I18nMessageCollection.TOKEN_REFRESH_SUCCESS.name(), msg));
+    }
+
     @PostMapping("/v1/auth/change-password")
-    public ResponseEntity<ResponseWrapper<Void>> changePassword(@RequestHeader("X-User-Id") UUID userId, @RequestBody @Valid ChangePasswordRequest req, Locale locale) {
-        log.info("[customer] change-password userId={}", userId);
+    @ApiResponse(responseCode = "200", description = "OK",
+            content = @Content(schema = @Schema(implementation = ResponseSchemas.ResponseWrapperVoid.class)))
+    public ResponseEntity<byte[]> changePassword(@RequestHeader("X-User-Id") UUID userId, @RequestBody @Valid ChangePasswordRequest req, Locale locale) {
         authService.changePassword(userId, req);
-        String msg = I18nMessageCollection.CHANGE_PASSWORD_SUCCESS.localized(messageSource, locale);
-        return ResponseEntity.ok(ApiResponseUtil.success(null, I18nMessageCollection.CHANGE_PASSWORD_SUCCESS.name(), msg));
+        return responses.success(I18nMessageCollection.CHANGE_PASSWORD_SUCCESS.name(), locale, PrecomputedResponses.Shape.NONE);
     }
 
     @GetMapping("/v1/kyc-status")
     public ResponseEntity<ResponseWrapper<KycResponse>> kycStatus(@RequestHeader("X-User-Id") UUID userId, Locale locale) {
-        log.info("[customer] kyc-status userId={}", userId);
         KycResponse res = kycService.getStatus(userId);
-        String msg = I18nMessageCollection.EMAIL_CHECKED.localized(messageSource, locale);
         return ResponseEntity.ok(ApiResponseUtil.success(res, null, null));
     }
 
     @PostMapping("/v1/kyc")
     public ResponseEntity<ResponseWrapper<KycResponse>> kycSubmit(@RequestHeader("X-User-Id") UUID userId, @RequestBody @Valid KycRequest req, Locale locale) {
-        log.info("[customer] kyc-submit userId={} nik={} pob={} dob={}", userId, req.getNik(), req.getPob(), req.getDob());
         KycResponse res = kycService.submit(userId, req);
-        String msg = I18nMessageCollection.KYC_SUBMIT_SUCCESS.localized(messageSource, locale);
+        String msg = messages.get(I18nMessageCollection.KYC_SUBMIT_SUCCESS, locale);
         return ResponseEntity.ok(ApiResponseUtil.success(res, I18nMessageCollection.KYC_SUBMIT_SUCCESS.name(), msg));
     }
 
     // Internal endpoint for CRP to update customer's risk profile FK
     @PostMapping("/v1/user/risk-profile")
-    public ResponseEntity<ResponseWrapper<Void>> updateRiskProfile(@RequestBody @Valid UpdateRiskProfileRequest req, Locale locale) {
-        log.info("[customer] update-risk-profile customerId={} riskProfileId={}", req.getCustomerId(), req.getRiskProfileId());
+    @ApiResponse(responseCode = "200", description = "OK",
+            content = @Content(schema = @Schema(implementation = ResponseSchemas.ResponseWrapperVoid.class)))
+    public ResponseEntity<byte[]> updateRiskProfile(@RequestBody @Valid UpdateRiskProfileRequest req, Locale locale) {
         authService.updateRiskProfile(req.getCustomerId(), req.getRiskProfileId());
-        return ResponseEntity.ok(ApiResponseUtil.success(null, null, null));
+        return responses.success(null, locale, PrecomputedResponses.Shape.NONE);
+    }
+
+    // Internal bulk variant for CRP re-scoring runs; rows that cannot be applied are reported, not rejected
+    @PostMapping(value = "/v1/user/risk-profile/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseWrapper<BulkRiskProfileResponse>> bulkUpdateRiskProfile(HttpServletRequest request) throws IOException {
+        try {
+            return ResponseEntity.ok(ApiResponseUtil.success(riskProfileBulkService.assignJson(request.getInputStream()), null, null));
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException(e.getOriginalMessage(), e, new ServletServerHttpRequest(request));
+        }
+    }
+
+    @PostMapping(value = "/v1/user/risk-profile/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseWrapper<BulkRiskProfileResponse>> bulkUpdateRiskProfileNdjson(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(ApiResponseUtil.success(riskProfileBulkService.assignNdjson(request.getInputStream()), null, null));
     }
 
     @Data
@@ -1,35 +0,0 @@
-package com.wms.customer.web;
-
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.MethodParameter;
-import org.springframework.http.MediaType;
-import org.springframework.http.converter.HttpMessageConverter;
-import org.springframework.http.server.ServerHttpRequest;
-import org.springframework.http.server.ServerHttpResponse;
-import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
-
-@Slf4j
-@RestControllerAdvice(basePackages = "com.wms.customer")
-public class LoggingResponseAdvice implements ResponseBodyAdvice<Object> {
-
-    @Override
-    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
-        return true;
-    }
-
-    @Override
-    public Object beforeBodyWrite(Object body,
-                                  MethodParameter returnType,
-                                  MediaType selectedContentType,
-                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
-                                  ServerHttpRequest request,
-                                  ServerHttpResponse response) {
-        if (body instanceof ResponseWrapper<?> wrapper) {
-            String path = request != null && request.getURI() != null ? request.getURI().getPath() : "";
-            log.info("API response: path={}, success={}, messageCodes={}",
-                    path, wrapper.isSuccess(), wrapper.getMessageCodes());
-        }
-        return body;
-    }
-}
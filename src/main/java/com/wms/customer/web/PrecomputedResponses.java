@@ -0,0 +1,124 @@
+package com.wms.customer.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wms.customer.i18n.LocalizedMessages;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * UTF-8 encoded {@link ResponseWrapper} bodies for responses whose content is fully determined by
+ * (outcome, message code, locale, payload shape): data-less successes and errors, and {@code {"exists": bool}}.
+ * <p>
+ * Each body is encoded once with the application's {@link ObjectMapper}, so it is byte-identical to what Jackson
+ * would have written, and afterwards served as a {@code byte[]} copied straight to the response stream. The cache is
+ * dropped whenever {@link LocalizedMessages} reloads; codes beyond {@link #MAX_CODES} are encoded per call.
+ */
+@Component
+public class PrecomputedResponses {
+    static final int MAX_CODES = 512;
+    private static final String NO_CODE = "";
+
+    /** Payloads that can be cached; anything else goes through Jackson as usual. */
+    public enum Shape {
+        NONE(null),
+        EXISTS_TRUE(Map.of("exists", true)),
+        EXISTS_FALSE(Map.of("exists", false));
+
+        private final Object data;
+
+        Shape(Object data) {
+            this.data = data;
+        }
+
+        public static Shape exists(boolean exists) {
+            return exists ? EXISTS_TRUE : EXISTS_FALSE;
+        }
+    }
+
+    private static final int SHAPES = Shape.values().length;
+
+    private final ObjectMapper objectMapper;
+    private final LocalizedMessages messages;
+    private volatile Cache cache;
+
+    public PrecomputedResponses(ObjectMapper objectMapper, LocalizedMessages messages) {
+        this.objectMapper = objectMapper;
+        this.messages = messages;
+        this.cache = new Cache(messages.generation());
+    }
+
+    public ResponseEntity<byte[]> success(String messageCode, Locale locale, Shape shape) {
+        return json(HttpStatus.OK, body(true, messageCode, locale, shape));
+    }
+
+    public ResponseEntity<byte[]> error(HttpStatus status, String messageCode, Locale locale) {
+        return json(status, body(false, messageCode, locale, Shape.NONE));
+    }
+
+    /** For filters, which run outside Spring MVC and cannot return a {@link ResponseEntity}. */
+    public void write(HttpServletResponse response, HttpStatus status, String messageCode, Locale locale) throws IOException {
+        byte[] body = body(false, messageCode, locale, Shape.NONE);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    byte[] body(boolean success, String messageCode, Locale locale, Shape shape) {
+        Cache c = cache;
+        int generation = messages.generation();
+        if (c.generation != generation) {
+            c = new Cache(generation);
+            cache = c;
+        }
+        String key = messageCode != null ? messageCode : NO_CODE;
+        AtomicReferenceArray<byte[]> bodies = c.bodies.get(key);
+        if (bodies == null) {
+            if (c.bodies.size() >= MAX_CODES) return encode(success, messageCode, locale, shape);
+            bodies = c.bodies.computeIfAbsent(key, k -> new AtomicReferenceArray<>(2 * SHAPES * messages.localeCount()));
+        }
+        int slot = ((success ? SHAPES : 0) + shape.ordinal()) * messages.localeCount() + messages.localeIndex(locale);
+        byte[] body = bodies.get(slot);
+        if (body == null) {
+            // Racing threads encode identical bytes, so last writer wins harmlessly
+            body = encode(success, messageCode, locale, shape);
+            bodies.set(slot, body);
+        }
+        return body;
+    }
+
+    private byte[] encode(boolean success, String messageCode, Locale locale, Shape shape) {
+        String message = messageCode != null ? messages.get(messageCode, locale) : null;
+        ResponseWrapper<?> wrapper = success
+                ? ApiResponseUtil.success(shape.data, messageCode, message)
+                : ApiResponseUtil.error(messageCode, message);
+        try {
+            return objectMapper.writeValueAsBytes(wrapper);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode response for " + messageCode, e);
+        }
+    }
+
+    private static ResponseEntity<byte[]> json(HttpStatus status, byte[] body) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static final class Cache {
+        final int generation;
+        final ConcurrentHashMap<String, AtomicReferenceArray<byte[]>> bodies = new ConcurrentHashMap<>();
+
+        Cache(int generation) {
+            this.generation = generation;
+        }
+    }
+}
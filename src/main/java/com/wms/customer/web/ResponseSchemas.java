@@ -0,0 +1,19 @@
+package com.wms.customer.web;
+
+import java.util.Map;
+
+/**
+ * OpenAPI stand-ins for the {@link ResponseWrapper} bodies that {@link PrecomputedResponses} serves as {@code byte[]}.
+ * Referenced from {@code @ApiResponse} only; each class is named after the schema springdoc derives for the generic
+ * type, so the published contract is the same as when those handlers returned {@code ResponseWrapper} directly.
+ */
+public final class ResponseSchemas {
+    private ResponseSchemas() {
+    }
+
+    public static class ResponseWrapperVoid extends ResponseWrapper<Void> {
+    }
+
+    public static class ResponseWrapperMapStringObject extends ResponseWrapper<Map<String, Object>> {
+    }
+}
@@ -0,0 +1,7 @@
+-- Shared login throttle buckets (see TrxLoginThrottle), used when customer.login-throttle.store=JDBC.
+-- Migration for the upstream schema owner; run at startup only with DB_SCHEMA_INIT=always.
+create table if not exists trx_login_throttle (
+    throttle_key varchar(330) not null primary key,
+    tat_millis   bigint       not null
+);
+create index if not exists ix_trx_login_throttle_tat on trx_login_throttle (tat_millis);
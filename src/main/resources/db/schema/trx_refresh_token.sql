@@ -0,0 +1,15 @@
+-- Opaque refresh tokens (see TrxRefreshToken); only the SHA-256 of each token is stored.
+-- Migration for the upstream schema owner; run at startup only with DB_SCHEMA_INIT=always.
+create table if not exists trx_refresh_token (
+    token_id    uuid                     not null primary key,
+    customer_id uuid                     not null,
+    family_id   uuid                     not null,
+    token_hash  varchar(64)              not null,
+    issued_at   timestamp with time zone not null,
+    expires_at  timestamp with time zone not null,
+    rotated_at  timestamp with time zone,
+    revoked_at  timestamp with time zone
+);
+create unique index if not exists ux_trx_refresh_token_hash on trx_refresh_token (token_hash);
+create index if not exists ix_trx_refresh_token_family on trx_refresh_token (family_id);
+create index if not exists ix_trx_refresh_token_customer on trx_refresh_token (customer_id);
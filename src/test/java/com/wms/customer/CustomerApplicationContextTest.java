@@ -0,0 +1,68 @@
+package com.wms.customer;
+
+import com.wms.customer.cache.RiskProfileCatalogEndpoint;
+import com.wms.customer.service.interfacing.RefreshTokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Starts the full application context against H2 so bean wiring and the shipped schema scripts are checked without
+ * a PostgreSQL instance; {@link CustomerApplicationTests} covers the real environment.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "SERVER_PORT=0",
+        "LOG_LEVEL_ROOT=WARN",
+        "DB_URL=jdbc:h2:mem:context;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "DB_USER=sa",
+        "DB_PASS=",
+        "KAFKA_BOOTSTRAP=localhost:9092",
+        "kafka.risk-profile-consumer.enabled=false",
+        "AUDIT_SPILL_PATH=target/context-test-audit-spill.log",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/upstream-schema.sql,classpath:db/schema/*.sql",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class CustomerApplicationContextTest {
+    @Autowired private RefreshTokenService refreshTokenService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private RiskProfileCatalogEndpoint riskProfileCatalogEndpoint;
+    @Autowired private MeterRegistry registry;
+    @Autowired private MockMvc mockMvc;
+
+    @Test
+    void contextStartsAndSchemaScriptsCreateServiceTables() {
+        assertNotNull(refreshTokenService);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from trx_refresh_token", Integer.class));
+    }
+
+    @Test
+    void catalogReloadIsBroadcastToOtherReplicas() {
+        double before = registry.get("customer.invalidation.published").counter().count();
+        riskProfileCatalogEndpoint.reload();
+        assertEquals(before + 1, registry.get("customer.invalidation.published").counter().count());
+    }
+
+    @Test
+    void preEncodedResponsesKeepTheirResponseWrapperSchemas() throws Exception {
+        String ok = "$.paths['%s'].post.responses['200'].content['*/*'].schema['$ref']";
+        mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(ok.formatted("/v1/user/check-email")).value("#/components/schemas/ResponseWrapperMapStringObject"))
+                .andExpect(jsonPath(ok.formatted("/v1/auth/change-password")).value("#/components/schemas/ResponseWrapperVoid"))
+                .andExpect(jsonPath(ok.formatted("/v1/user/risk-profile")).value("#/components/schemas/ResponseWrapperVoid"))
+                .andExpect(jsonPath("$.components.schemas.ResponseWrapperVoid.properties.messageCodes").exists());
+    }
+}
@@ -0,0 +1,117 @@
+package com.wms.customer.cache;
+
+import com.wms.customer.config.CustomerSnapshotCacheProperties;
+import com.wms.customer.repository.MstCustomerRepository;
+import com.wms.customer.repository.projection.CustomerSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CustomerSnapshotCacheTest {
+    private final MstCustomerRepository repository = Mockito.mock(MstCustomerRepository.class);
+    private final CustomerSnapshotCacheProperties props = new CustomerSnapshotCacheProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2024-05-01T00:00:00Z"));
+    private final UUID id = UUID.randomUUID();
+    private final CustomerSnapshot incomplete = new CustomerSnapshot(id, "Test", "t@example.com", "-", "-", null, null);
+
+    @Test
+    void readsAreServedFromCacheUntilTtlExpires() {
+        props.setTtl(Duration.ofSeconds(30));
+        CustomerSnapshotCache cache = cache();
+        Mockito.when(repository.findSnapshotById(id)).thenReturn(Optional.of(incomplete));
+
+        cache.get(id);
+        cache.get(id);
+        Mockito.verify(repository, Mockito.times(1)).findSnapshotById(id);
+
+        now.set(now.get().plusSeconds(31));
+        cache.get(id);
+        Mockito.verify(repository, Mockito.times(2)).findSnapshotById(id);
+        assertEquals(1, registry.get("customer.snapshot.cache.evictions").tag("cause", "expired").counter().count());
+        assertEquals(1.0 / 3, registry.get("customer.snapshot.cache.hit.ratio").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void writesUpdateCachedEntryInPlace() {
+        CustomerSnapshotCache cache = cache();
+        Mockito.when(repository.findSnapshotById(id)).thenReturn(Optional.of(incomplete));
+        cache.get(id);
+
+        LocalDate dob = LocalDate.of(1990, 1, 2);
+        cache.update(id, s -> s.withNik("1234567890123456").withPob("Bandung").withDob(dob));
+
+        CustomerSnapshot updated = cache.get(id).orElseThrow();
+        assertEquals("Bandung", updated.getPob());
+        assertEquals(dob, updated.getDob());
+        Mockito.verify(repository, Mockito.times(1)).findSnapshotById(id);
+    }
+
+    @Test
+    void loadRacingAWriteIsNotCached() {
+        CustomerSnapshotCache cache = cache();
+        // The write commits and is applied while this read is still holding the pre-write row
+        Mockito.when(repository.findSnapshotById(id)).thenAnswer(inv -> {
+            cache.update(id, s -> s.withPob("Bandung"));
+            return Optional.of(incomplete);
+        }).thenReturn(Optional.of(incomplete.withPob("Bandung")));
+
+        assertEquals("-", cache.get(id).orElseThrow().getPob());
+        assertEquals("Bandung", cache.get(id).orElseThrow().getPob());
+        Mockito.verify(repository, Mockito.times(2)).findSnapshotById(id);
+    }
+
+    @Test
+    void writesToOtherCustomersDoNotFenceALoad() {
+        CustomerSnapshotCache cache = cache();
+        Mockito.when(repository.findSnapshotById(id)).thenAnswer(inv -> {
+            cache.update(UUID.randomUUID(), s -> s.withPob("Bandung"));
+            cache.invalidate(UUID.randomUUID());
+            return Optional.of(incomplete);
+        });
+
+        cache.get(id);
+        cache.get(id);
+        Mockito.verify(repository, Mockito.times(1)).findSnapshotById(id);
+    }
+
+    @Test
+    void sizeBoundEvictsLeastRecentlyRead() {
+        props.setMaxSize(10);
+        CustomerSnapshotCache cache = cache();
+        Mockito.when(repository.findSnapshotById(Mockito.any(UUID.class))).thenAnswer(inv ->
+                Optional.of(new CustomerSnapshot(inv.getArgument(0), "Test", "t@example.com", "-", "-", null, null)));
+        cache.get(id);
+        for (int i = 0; i < 10; i++) {
+            now.set(now.get().plusMillis(1));
+            cache.get(UUID.randomUUID());
+            // Kept warm, so never the eldest
+            cache.get(id);
+        }
+
+        assertEquals(9, registry.get("customer.snapshot.cache.size").gauge().value());
+        assertEquals(2, registry.get("customer.snapshot.cache.evictions").tag("cause", "size").functionCounter().count());
+        cache.get(id);
+        Mockito.verify(repository, Mockito.times(1)).findSnapshotById(id);
+    }
+
+    private CustomerSnapshotCache cache() {
+        Clock clock = new Clock() {
+            @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+            @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+            @Override public Instant instant() { return now.get(); }
+        };
+        return new CustomerSnapshotCache(repository, props, registry, clock);
+    }
+}
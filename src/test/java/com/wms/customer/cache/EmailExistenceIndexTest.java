@@ -0,0 +1,123 @@
+package com.wms.customer.cache;
+
+import com.wms.customer.config.EmailIndexProperties;
+import com.wms.customer.repository.MstCustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailExistenceIndexTest {
+    private MstCustomerRepository repository;
+    private EmailExistenceIndex index;
+    private JdbcTemplate jdbc;
+    private Runnable duringScan = () -> { };
+
+    @BeforeEach
+    void setUp() throws Exception {
+        repository = Mockito.mock(MstCustomerRepository.class);
+        jdbc = Mockito.mock(JdbcTemplate.class);
+        ResultSet rs = Mockito.mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn("Known@Example.com");
+        Mockito.doAnswer(inv -> {
+            inv.<RowCallbackHandler>getArgument(1).processRow(rs);
+            duringScan.run();
+            return null;
+        }).when(jdbc).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        EmailIndexProperties props = new EmailIndexProperties();
+        props.setExpectedInsertions(1000);
+        index = new EmailExistenceIndex(repository, jdbc, props, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void goesToDatabaseUntilWarmedUp() {
+        index.exists("a@b.c");
+        verify(repository).existsByEmail("a@b.c");
+    }
+
+    @Test
+    void unknownEmailIsAnsweredWithoutDatabase() {
+        index.warmUp();
+        assertFalse(index.exists("nobody@example.com"));
+        verify(repository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void confirmedPositivesAreCached() {
+        index.warmUp();
+        when(repository.existsByEmail("Known@Example.com")).thenReturn(true);
+        assertTrue(index.exists("Known@Example.com"));
+        assertTrue(index.exists("Known@Example.com"));
+        verify(repository, times(1)).existsByEmail(anyString());
+    }
+
+    @Test
+    void keysMatchTheDatabaseExactly() {
+        index.warmUp();
+        when(repository.existsByEmail("Known@Example.com")).thenReturn(true);
+        assertTrue(index.exists("Known@Example.com"));
+        // The database would not find this spelling either, so neither the filter nor the LRU may claim it
+        assertFalse(index.exists("known@example.com"));
+        verify(repository, never()).existsByEmail("known@example.com");
+    }
+
+    @Test
+    void rebuildForgetsConfirmedPositives() {
+        index.warmUp();
+        when(repository.existsByEmail("Known@Example.com")).thenReturn(true);
+        assertTrue(index.exists("Known@Example.com"));
+        index.rebuild();
+        // Deleted upstream since it was confirmed; the filter still has it, but the LRU must not answer for it
+        when(repository.existsByEmail("Known@Example.com")).thenReturn(false);
+        assertFalse(index.exists("Known@Example.com"));
+        verify(repository, times(2)).existsByEmail("Known@Example.com");
+    }
+
+    @Test
+    void registrationDuringRebuildSurvivesTheSwap() {
+        index.warmUp();
+        duringScan = () -> index.recordRegistered("racing@example.com");
+        index.rebuild();
+        duringScan = () -> { };
+        // The filter is consulted before the LRU, so this only passes if the swapped-in filter has the key
+        assertTrue(index.exists("racing@example.com"));
+        verify(repository, never()).existsByEmail(anyString());
+
+        index.requestRebuild();
+        index.rebuildIfStale();
+        index.rebuildIfStale();
+        verify(jdbc, times(3)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void registrationIsVisibleImmediately() {
+        index.warmUp();
+        index.recordRegistered("new@example.com");
+        assertTrue(index.exists("new@example.com"));
+        verify(repository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegatives() {
+        BloomFilter f = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) f.put("user" + i + "@example.com");
+        for (int i = 0; i < 10_000; i++) assertTrue(f.mightContain("user" + i + "@example.com"));
+        int fp = 0;
+        for (int i = 0; i < 10_000; i++) if (f.mightContain("other" + i + "@example.com")) fp++;
+        assertTrue(fp < 300, "false positives: " + fp);
+    }
+}
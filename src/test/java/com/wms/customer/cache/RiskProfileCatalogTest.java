@@ -0,0 +1,67 @@
+package com.wms.customer.cache;
+
+import com.wms.customer.config.RiskProfileCatalogProperties;
+import com.wms.customer.entity.MstRiskProfileRef;
+import com.wms.customer.repository.MstRiskProfileRefRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RiskProfileCatalogTest {
+    private final MstRiskProfileRefRepository repository = Mockito.mock(MstRiskProfileRefRepository.class);
+    private final UUID conservative = UUID.randomUUID();
+    private RiskProfileCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findAll()).thenReturn(List.of(ref(conservative, "CONSERVATIVE")));
+        RiskProfileCatalogProperties props = new RiskProfileCatalogProperties();
+        props.setMissReloadInterval(Duration.ofHours(1));
+        catalog = new RiskProfileCatalog(repository, props, new SimpleMeterRegistry());
+        catalog.warmUp();
+    }
+
+    @Test
+    void answersFromSnapshotWithoutQuerying() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals("CONSERVATIVE", catalog.profileType(conservative));
+        }
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void unknownIdsDoNotReloadMoreThanOncePerInterval() {
+        for (int i = 0; i < 10; i++) {
+            assertNull(catalog.profileType(UUID.randomUUID()));
+        }
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void invalidationPicksUpNewProfiles() {
+        UUID aggressive = UUID.randomUUID();
+        when(repository.findAll()).thenReturn(List.of(ref(conservative, "CONSERVATIVE"), ref(aggressive, "AGGRESSIVE")));
+
+        catalog.onInvalidated(new RiskProfileCatalogInvalidatedEvent("test"));
+
+        assertEquals("AGGRESSIVE", catalog.profileType(aggressive));
+    }
+
+    private static MstRiskProfileRef ref(UUID id, String type) {
+        MstRiskProfileRef r = new MstRiskProfileRef();
+        r.setRiskProfileId(id);
+        r.setProfileType(type);
+        return r;
+    }
+}
@@ -0,0 +1,51 @@
+package com.wms.customer.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PersistenceTuningConfigTest {
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(PersistenceProperties.class, PersistenceTuningConfig.class)
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:tuning");
+
+    @Test
+    void profileFillsOnlyHikariSettingsNotConfiguredExplicitly() {
+        runner.withPropertyValues("spring.datasource.hikari.maximum-pool-size=5", "spring.datasource.hikari.minimum-idle=2")
+                .run(context -> {
+                    HikariDataSource hikari = context.getBean(HikariDataSource.class);
+                    assertEquals(5, hikari.getMaximumPoolSize());
+                    assertEquals(2, hikari.getMinimumIdle());
+                    // Not set under spring.datasource.hikari, so the TUNED profile's value applies
+                    assertEquals(2000, hikari.getConnectionTimeout());
+                });
+    }
+
+    @Test
+    void ownSettingsOverrideExplicitHikariOnes() {
+        runner.withPropertyValues("spring.datasource.hikari.maximum-pool-size=5", "customer.persistence.maximum-pool-size=8")
+                .run(context -> assertEquals(8, context.getBean(HikariDataSource.class).getMaximumPoolSize()));
+    }
+
+    @Test
+    void hibernateSettingsFromSpringJpaPropertiesAreKept() {
+        PersistenceProperties props = new PersistenceProperties();
+        Map<String, Object> hibernate = new HashMap<>(Map.of(AvailableSettings.STATEMENT_BATCH_SIZE, "20"));
+        props.applyHibernate(hibernate);
+        assertEquals("20", hibernate.get(AvailableSettings.STATEMENT_BATCH_SIZE));
+        assertEquals(true, hibernate.get(AvailableSettings.ORDER_INSERTS));
+
+        props.setJdbcBatchSize(100);
+        props.applyHibernate(hibernate);
+        assertEquals(100, hibernate.get(AvailableSettings.STATEMENT_BATCH_SIZE));
+    }
+}
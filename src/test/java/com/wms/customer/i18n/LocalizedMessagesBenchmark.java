@@ -0,0 +1,75 @@
+package com.wms.customer.i18n;
+
+import com.wms.customer.config.I18nProperties;
+import com.wms.customer.config.MessageSourceConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.MessageSource;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message resolutions/sec through {@code ReloadableResourceBundleMessageSource} (the previous per-request path)
+ * against the precomputed {@link LocalizedMessages} table, for an enum message and a {@code BusinessException} code.
+ * Run {@link #main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class LocalizedMessagesBenchmark {
+    @Param({"en", "id-ID"})
+    public String languageTag;
+
+    private MessageSource messageSource;
+    private LocalizedMessages messages;
+    private Locale locale;
+
+    @Setup
+    public void setUp() {
+        I18nProperties props = new I18nProperties();
+        messageSource = new MessageSourceConfig().messageSource(props);
+        messages = new LocalizedMessages(messageSource, props);
+        locale = Locale.forLanguageTag(languageTag);
+    }
+
+    @Benchmark
+    public String messageSourceEnum() {
+        return I18nMessageCollection.AUTH_INVALID_CREDENTIALS.localized(messageSource, locale);
+    }
+
+    @Benchmark
+    public String messageSourceCode() {
+        return messageSource.getMessage("PASSWORD_POLICY_VIOLATION", null, "PASSWORD_POLICY_VIOLATION", locale);
+    }
+
+    @Benchmark
+    public String tableEnum() {
+        return messages.get(I18nMessageCollection.AUTH_INVALID_CREDENTIALS, locale);
+    }
+
+    @Benchmark
+    public String tableCode() {
+        return messages.get("PASSWORD_POLICY_VIOLATION", locale);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(LocalizedMessagesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
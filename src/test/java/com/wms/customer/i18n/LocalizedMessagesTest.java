@@ -0,0 +1,34 @@
+package com.wms.customer.i18n;
+
+import com.wms.customer.config.I18nProperties;
+import com.wms.customer.config.MessageSourceConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class LocalizedMessagesTest {
+    private final I18nProperties props = new I18nProperties();
+    private final LocalizedMessages messages =
+            new LocalizedMessages(new MessageSourceConfig().messageSource(props), props);
+
+    @Test
+    void resolvesEnumAndBundleOnlyCodesPerLocale() {
+        assertEquals("Invalid email or password", messages.get(I18nMessageCollection.AUTH_INVALID_CREDENTIALS, Locale.ENGLISH));
+        assertNotEquals(messages.get(I18nMessageCollection.AUTH_INVALID_CREDENTIALS, Locale.ENGLISH),
+                messages.get(I18nMessageCollection.AUTH_INVALID_CREDENTIALS, Locale.forLanguageTag("id-ID")));
+        assertEquals("Password does not meet the policy", messages.get("PASSWORD_POLICY_VIOLATION", Locale.US));
+    }
+
+    @Test
+    void fallsBackForUnknownLocalesAndCodes() {
+        assertEquals(messages.get(I18nMessageCollection.LOGIN_SUCCESS, Locale.ENGLISH),
+                messages.get(I18nMessageCollection.LOGIN_SUCCESS, Locale.JAPANESE));
+        assertEquals(messages.get(I18nMessageCollection.LOGIN_SUCCESS, Locale.ENGLISH),
+                messages.get(I18nMessageCollection.LOGIN_SUCCESS, null));
+        assertEquals("NOT_A_CODE", messages.get("NOT_A_CODE", Locale.ENGLISH));
+        assertEquals("fallback", messages.get("NOT_A_CODE", Locale.ENGLISH, "fallback"));
+    }
+}
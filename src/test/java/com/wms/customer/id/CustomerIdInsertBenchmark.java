@@ -0,0 +1,105 @@
+package com.wms.customer.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Bulk-loads {@code rows} customers keyed by each id strategy into a file-backed H2 database in PostgreSQL mode and
+ * reports load time plus the on-disk size of the table with its primary key and unique email indexes.
+ * <p>
+ * H2 is only a stand-in for Postgres: absolute numbers differ, but both keep the primary key in a B-tree, so the
+ * page-split and cache-locality gap between random and time-ordered keys shows up in both. The default of 10M rows
+ * takes several minutes per strategy; pass {@code -p rows=1000000} for a quicker run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class CustomerIdInsertBenchmark {
+    private static final int BATCH = 10_000;
+
+    @Param({"RANDOM", "UUID_V7"})
+    public String strategy;
+
+    @Param({"10000000"})
+    public int rows;
+
+    private Path dir;
+    private Connection con;
+    private CustomerIdGenerator generator;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("id-bench");
+        con = DriverManager.getConnection("jdbc:h2:file:" + dir.resolve("db") + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE", "sa", "");
+        try (Statement st = con.createStatement()) {
+            st.execute("create table mst_customer (customer_id uuid primary key, name varchar(100), "
+                    + "email varchar(200) unique, password_hash varchar(100))");
+        }
+        con.setAutoCommit(false);
+        generator = "RANDOM".equals(strategy) ? new RandomCustomerIdGenerator() : new UuidV7CustomerIdGenerator();
+    }
+
+    @Benchmark
+    public void insertRows() throws Exception {
+        try (PreparedStatement ps = con.prepareStatement(
+                "insert into mst_customer (customer_id, name, email, password_hash) values (?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                ps.setObject(1, generator.next());
+                ps.setString(2, "Customer " + i);
+                ps.setString(3, "customer" + i + "@example.com");
+                ps.setString(4, "$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ01");
+                ps.addBatch();
+                if ((i + 1) % BATCH == 0) {
+                    ps.executeBatch();
+                    con.commit();
+                }
+            }
+            ps.executeBatch();
+            con.commit();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("select disk_space_used('mst_customer')")) {
+            rs.next();
+            System.out.printf("%n[%s] rows=%d table+indexes=%.1f MiB%n", strategy, rows, rs.getLong(1) / 1048576.0);
+        }
+        con.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(CustomerIdInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,47 @@
+package com.wms.customer.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7CustomerIdGeneratorTest {
+
+    @Test
+    void setsVersionVariantAndTimestamp() {
+        UUID id = new UuidV7CustomerIdGenerator(() -> 1_700_000_000_123L).next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(1_700_000_000_123L, id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void staysMonotonicWithinAMillisecondAndWhenTheClockStepsBack() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UuidV7CustomerIdGenerator gen = new UuidV7CustomerIdGenerator(clock::get);
+
+        UUID prev = gen.next();
+        for (int i = 0; i < 10_000; i++) {
+            // Same millisecond for long stretches (forcing counter overflow), with an occasional backwards step
+            if (i % 5000 == 0) clock.addAndGet(-50);
+            UUID next = gen.next();
+            assertTrue(next.compareTo(prev) > 0, "id " + i + " not increasing");
+            prev = next;
+        }
+    }
+
+    @Test
+    void concurrentCallersGetDistinctIds() {
+        UuidV7CustomerIdGenerator gen = new UuidV7CustomerIdGenerator();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(gen.next()));
+        assertEquals(100_000, ids.size());
+    }
+}
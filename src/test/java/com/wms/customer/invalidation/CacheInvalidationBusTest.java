@@ -0,0 +1,120 @@
+package com.wms.customer.invalidation;
+
+import com.wms.customer.cache.CustomerSnapshotCache;
+import com.wms.customer.cache.EmailExistenceIndex;
+import com.wms.customer.cache.RiskProfileCatalog;
+import com.wms.customer.config.CacheInvalidationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheInvalidationBusTest {
+    private final CacheInvalidationProperties props = new CacheInvalidationProperties();
+    private final List<InvalidationBatch> sent = new ArrayList<>();
+    private final LocalInvalidationTransport transport = new LocalInvalidationTransport() {
+        @Override
+        public CompletableFuture<Void> send(InvalidationBatch batch) {
+            sent.add(batch);
+            return super.send(batch);
+        }
+    };
+    private final CustomerSnapshotCache localSnapshots = Mockito.mock(CustomerSnapshotCache.class);
+    private final CustomerSnapshotCache remoteSnapshots = Mockito.mock(CustomerSnapshotCache.class);
+    private final EmailExistenceIndex remoteEmails = Mockito.mock(EmailExistenceIndex.class);
+    private final RiskProfileCatalog remoteCatalog = Mockito.mock(RiskProfileCatalog.class);
+    private CacheInvalidationBus local;
+    private CacheInvalidationBus remote;
+
+    @BeforeEach
+    void setUp() {
+        // Flushed by hand below
+        props.setFlushInterval(Duration.ofHours(1));
+        props.setMaxBatchSize(3);
+        props.setMaxPending(5);
+        local = new CacheInvalidationBus(transport, props, localSnapshots, Mockito.mock(EmailExistenceIndex.class),
+                Mockito.mock(RiskProfileCatalog.class), new SimpleMeterRegistry());
+        remote = new CacheInvalidationBus(transport, props, remoteSnapshots, remoteEmails, remoteCatalog, new SimpleMeterRegistry());
+        local.start();
+        remote.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        local.stop();
+        remote.stop();
+    }
+
+    @Test
+    void coalescedWritesReachOtherReplicasOnly() {
+        UUID customer = UUID.randomUUID();
+        local.publish(CacheInvalidation.customer(customer));
+        local.publish(CacheInvalidation.customer(customer));
+        local.publish(CacheInvalidation.email("new@example.com"));
+        local.publish(CacheInvalidation.riskProfileCatalog());
+        local.flush();
+
+        assertEquals(1, sent.size());
+        assertEquals(3, sent.get(0).items().size());
+        Mockito.verify(remoteSnapshots).invalidate(customer);
+        Mockito.verify(remoteEmails).recordRegistered("new@example.com");
+        Mockito.verify(remoteCatalog).refresh();
+        Mockito.verifyNoInteractions(localSnapshots);
+    }
+
+    @Test
+    void largeBurstsSplitIntoBatchesAndCollapsePastMaxPending() {
+        for (int i = 0; i < 4; i++) local.publish(CacheInvalidation.customer(UUID.randomUUID()));
+        local.flush();
+        assertEquals(2, sent.size());
+        Mockito.verify(remoteSnapshots, Mockito.times(4)).invalidate(Mockito.any(UUID.class));
+
+        sent.clear();
+        for (int i = 0; i < 50; i++) local.publish(CacheInvalidation.customer(UUID.randomUUID()));
+        local.flush();
+        assertEquals(1, sent.size());
+        assertTrue(sent.get(0).items().get(0).isAll());
+        Mockito.verify(remoteSnapshots).invalidateAll();
+    }
+
+    @Test
+    void asynchronousSendFailuresAreCounted() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LocalInvalidationTransport failing = new LocalInvalidationTransport() {
+            @Override
+            public CompletableFuture<Void> send(InvalidationBatch batch) {
+                return CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"));
+            }
+        };
+        CacheInvalidationBus bus = new CacheInvalidationBus(failing, props, localSnapshots,
+                Mockito.mock(EmailExistenceIndex.class), Mockito.mock(RiskProfileCatalog.class), registry);
+        bus.publish(CacheInvalidation.customer(UUID.randomUUID()));
+        bus.flush();
+
+        assertEquals(1, registry.get("customer.invalidation.batches").tag("direction", "failed").counter().count());
+        assertEquals(0, registry.get("customer.invalidation.batches").tag("direction", "sent").counter().count());
+    }
+
+    @Test
+    void wireFormatRoundTrips() {
+        InvalidationBatch batch = new InvalidationBatch("origin-1", List.of(
+                CacheInvalidation.customer(UUID.fromString("0190f1e2-0000-7000-8000-000000000001")),
+                CacheInvalidation.email("a@example.com"),
+                CacheInvalidation.riskProfileCatalog()));
+
+        assertEquals("origin-1\nC0190f1e2-0000-7000-8000-000000000001\nEa@example.com\nR*", batch.encode());
+        assertEquals(batch, InvalidationBatch.decode(batch.encode()));
+        // Keys that would break the line framing degrade to "all" instead
+        assertTrue(CacheInvalidation.email("a@example.com\nC*").isAll());
+    }
+}
@@ -0,0 +1,112 @@
+package com.wms.customer.invalidation;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EmbeddedKafka(partitions = 3, topics = KafkaInvalidationTransportTest.TOPIC)
+class KafkaInvalidationTransportTest {
+    static final String TOPIC = "customer.cache.invalidation";
+
+    @Test
+    void everyReplicaReadsFromTheEndWithoutAConsumerGroup(EmbeddedKafkaBroker broker) throws Exception {
+        KafkaProperties kafka = properties(broker.getBrokersAsString());
+        KafkaInvalidationTransport sender = new KafkaInvalidationTransport(kafka, TOPIC, Duration.ofSeconds(1));
+        // Sent before anyone listens: a fresh replica has nothing cached that this could concern
+        sender.send(batch("early", "a@example.com")).get(10, TimeUnit.SECONDS);
+
+        BlockingQueue<InvalidationBatch> first = new LinkedBlockingQueue<>();
+        BlockingQueue<InvalidationBatch> second = new LinkedBlockingQueue<>();
+        KafkaInvalidationTransport a = new KafkaInvalidationTransport(kafka, TOPIC, Duration.ofSeconds(1));
+        KafkaInvalidationTransport b = new KafkaInvalidationTransport(kafka, TOPIC, Duration.ofSeconds(1));
+        try {
+            a.start(receiver(first));
+            b.start(receiver(second));
+            awaitAssigned(a);
+            awaitAssigned(b);
+
+            InvalidationBatch batch = batch("origin-1", "b@example.com");
+            sender.send(batch).get(10, TimeUnit.SECONDS);
+
+            // Both replicas see the batch: neither shares partitions with the other through a group
+            assertEquals(batch, first.poll(10, TimeUnit.SECONDS));
+            assertEquals(batch, second.poll(10, TimeUnit.SECONDS));
+            assertNull(first.poll(500, TimeUnit.MILLISECONDS));
+
+            try (AdminClient admin = AdminClient.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString()))) {
+                assertTrue(admin.listConsumerGroups().all().get(10, TimeUnit.SECONDS).isEmpty());
+            }
+        } finally {
+            a.stop();
+            b.stop();
+            sender.stop();
+        }
+    }
+
+    @Test
+    void failedSendCompletesExceptionally() {
+        KafkaProperties kafka = properties("localhost:1");
+        kafka.getProducer().getProperties().put(ProducerConfig.MAX_BLOCK_MS_CONFIG, "500");
+        KafkaInvalidationTransport transport = new KafkaInvalidationTransport(kafka, TOPIC, Duration.ofSeconds(1));
+        try {
+            CompletableFuture<Void> sent;
+            try {
+                sent = transport.send(batch("origin-1", "a@example.com"));
+            } catch (RuntimeException e) {
+                sent = CompletableFuture.failedFuture(e);
+            }
+            CompletableFuture<Void> result = sent;
+            assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+        } finally {
+            transport.stop();
+        }
+    }
+
+    private static KafkaProperties properties(String bootstrap) {
+        KafkaProperties kafka = new KafkaProperties();
+        kafka.setBootstrapServers(List.of(bootstrap));
+        return kafka;
+    }
+
+    private static InvalidationBatch batch(String origin, String email) {
+        return new InvalidationBatch(origin, List.of(CacheInvalidation.email(email), CacheInvalidation.customer(UUID.randomUUID())));
+    }
+
+    private static InvalidationTransport.Receiver receiver(BlockingQueue<InvalidationBatch> received) {
+        return new InvalidationTransport.Receiver() {
+            @Override
+            public void onBatch(InvalidationBatch batch) {
+                received.add(batch);
+            }
+
+            @Override
+            public void onGap() {
+            }
+        };
+    }
+
+    private static void awaitAssigned(KafkaInvalidationTransport transport) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (!transport.isAssigned() && System.currentTimeMillis() < deadline) Thread.sleep(50);
+        assertTrue(transport.isAssigned());
+    }
+}
@@ -0,0 +1,61 @@
+package com.wms.customer.invalidation;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+
+class PostgresInvalidationTransportTest {
+
+    @Test
+    void listenerReconnectsAfterAnyFailureAndReportsTheGap() throws Exception {
+        InvalidationBatch batch = new InvalidationBatch("origin-1", List.of(CacheInvalidation.email("a@example.com")));
+        PGNotification notification = Mockito.mock(PGNotification.class);
+        Mockito.when(notification.getParameter()).thenReturn(batch.encode());
+        PGConnection pg = Mockito.mock(PGConnection.class);
+        Mockito.when(pg.getNotifications(anyInt())).thenReturn(new PGNotification[] {notification}).thenReturn(null);
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.createStatement()).thenReturn(Mockito.mock(Statement.class));
+        Mockito.when(connection.unwrap(PGConnection.class)).thenReturn(pg);
+
+        AtomicInteger opened = new AtomicInteger();
+        PostgresInvalidationTransport transport = new PostgresInvalidationTransport(() -> {
+            // Not an SQLException: must not end the listener thread
+            if (opened.incrementAndGet() == 1) throw new IllegalStateException("driver bug");
+            return connection;
+        }, Mockito.mock(JdbcTemplate.class), "customer_cache_invalidation", Duration.ofMillis(10));
+
+        BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+        transport.start(new InvalidationTransport.Receiver() {
+            @Override
+            public void onBatch(InvalidationBatch b) {
+                received.add(b);
+            }
+
+            @Override
+            public void onGap() {
+                received.add("gap");
+            }
+        });
+        try {
+            assertEquals("gap", received.poll(10, TimeUnit.SECONDS));
+            assertEquals(batch, received.poll(10, TimeUnit.SECONDS));
+            assertEquals(2, opened.get());
+        } finally {
+            transport.stop();
+        }
+    }
+}
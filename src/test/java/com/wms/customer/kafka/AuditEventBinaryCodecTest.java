@@ -0,0 +1,99 @@
+package com.wms.customer.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditEventBinaryCodecTest {
+
+    private static AuditEvent roundTrip(AuditEvent e) {
+        return AuditEventBinaryCodec.decode(AuditEventBinaryCodec.encode(e));
+    }
+
+    private static AuditEvent.AuditEventBuilder typical() {
+        return AuditEvent.builder()
+                .eventId(UUID.randomUUID())
+                .occurredAt(OffsetDateTime.now().toString())
+                .serviceName("customer-service")
+                .action("LOGIN_SUCCESS")
+                .status("SUCCESS")
+                .customerId(UUID.randomUUID())
+                .email("jane@example.com")
+                .description("Login");
+    }
+
+    @Test
+    void typicalEventRoundTrips() {
+        AuditEvent e = typical().build();
+        assertEquals(e, roundTrip(e));
+    }
+
+    @Test
+    void absentFieldsRoundTripAsNull() {
+        AuditEvent e = AuditEvent.builder().action("LOGIN_FAILURE").status("FAILURE").email("x@y.z").build();
+        assertEquals(e, roundTrip(e));
+        assertEquals(new AuditEvent(), roundTrip(new AuditEvent()));
+    }
+
+    @Test
+    void unknownActionStatusAndServiceNameAreCarriedInline() {
+        AuditEvent e = typical().action("PASSWORD_RESET").status("PARTIAL").serviceName("other-service").build();
+        assertEquals(e, roundTrip(e));
+    }
+
+    @Test
+    void timestampsKeepTheirExactText() {
+        for (String t : new String[] {
+                "2026-10-18T07:00:00Z",
+                "2026-10-18T07:00:00.123+07:00",
+                "2026-10-18T07:00:00.123456789-03:30",
+                OffsetDateTime.of(1969, 12, 31, 23, 59, 59, 1_000, ZoneOffset.ofHours(14)).toString(),
+                "not-a-timestamp",
+                "2026-10-18T07:00:00.100+07:00"}) {
+            AuditEvent e = typical().occurredAt(t).build();
+            assertEquals(t, roundTrip(e).getOccurredAt());
+        }
+    }
+
+    @Test
+    void nonAsciiTextRoundTrips() {
+        AuditEvent e = typical().email("bügi@例え.jp").description("Berhasil 😀").build();
+        assertEquals(e, roundTrip(e));
+    }
+
+    @Test
+    void isMuchSmallerThanJson() throws Exception {
+        AuditEvent e = typical().build();
+        int json = new ObjectMapper().writeValueAsBytes(e).length;
+        int binary = AuditEventBinaryCodec.encode(e).length;
+        assertTrue(binary * 3 < json, "binary=" + binary + " json=" + json);
+    }
+
+    @Test
+    void unknownCodesResolveToNullForActionsAndStatuses() {
+        for (int code : new int[] {0, 200, 255, 256, 257, -1}) {
+            assertNull(AuditAction.fromCode(code), "action " + code);
+            assertNull(AuditStatus.fromCode(code), "status " + code);
+        }
+        assertEquals(AuditAction.KYC_UPDATED, AuditAction.fromCode(5));
+        assertEquals(AuditStatus.FAILURE, AuditStatus.fromCode(2));
+    }
+
+    @Test
+    void rejectsUnknownSchemaVersionAndTruncatedInput() {
+        byte[] data = AuditEventBinaryCodec.encode(typical().build());
+        byte[] future = data.clone();
+        future[0] = 2;
+        assertThrows(IllegalArgumentException.class, () -> AuditEventBinaryCodec.decode(future));
+        assertThrows(IllegalArgumentException.class,
+                () -> AuditEventBinaryCodec.decode(java.util.Arrays.copyOf(data, data.length - 3)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.wms.customer.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode throughput and encoded size of the binary audit codec against the JSON path used by the producer.
+ * The {@code bytes} counter divided by {@code events} gives the average encoded size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditEventCodecBenchmark {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private AuditEvent event;
+    private OffsetDateTime occurredAt;
+    private byte[] json;
+    private byte[] binary;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Size {
+        public long bytes;
+        public long events;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            events = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        occurredAt = OffsetDateTime.now();
+        event = AuditEvent.builder()
+                .eventId(UUID.randomUUID())
+                .occurredAt(occurredAt.toString())
+                .serviceName("customer-service")
+                .action("LOGIN_SUCCESS")
+                .status("SUCCESS")
+                .customerId(UUID.randomUUID())
+                .email("jane.customer@example.com")
+                .description("Login")
+                .build();
+        json = mapper.writeValueAsBytes(event);
+        binary = AuditEventBinaryCodec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] encodeJson(Size size) throws Exception {
+        byte[] out = mapper.writeValueAsBytes(event);
+        size.bytes += out.length;
+        size.events++;
+        return out;
+    }
+
+    /** The producer path: the timestamp is passed through rather than re-parsed. */
+    @Benchmark
+    public byte[] encodeBinary(Size size) {
+        byte[] out = AuditEventBinaryCodec.encode(event, occurredAt);
+        size.bytes += out.length;
+        size.events++;
+        return out;
+    }
+
+    @Benchmark
+    public byte[] encodeBinaryParsingTimestamp(Size size) {
+        byte[] out = AuditEventBinaryCodec.encode(event);
+        size.bytes += out.length;
+        size.events++;
+        return out;
+    }
+
+    @Benchmark
+    public AuditEvent decodeJson() throws Exception {
+        return mapper.readValue(json, AuditEvent.class);
+    }
+
+    @Benchmark
+    public AuditEvent decodeBinary() {
+        return AuditEventBinaryCodec.decode(binary);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(AuditEventCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
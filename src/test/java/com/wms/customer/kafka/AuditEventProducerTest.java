@@ -0,0 +1,156 @@
+package com.wms.customer.kafka;
+
+import com.wms.customer.config.AuditProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+class AuditEventProducerTest {
+    @TempDir Path dir;
+    private AuditEventProducer producer;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (producer != null) producer.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void spillsWhileBrokerIsDownAndReplaysOnRecovery() throws Exception {
+        KafkaTemplate<String, byte[]> template = Mockito.mock(KafkaTemplate.class);
+        AtomicBoolean up = new AtomicBoolean(false);
+        List<byte[]> delivered = new CopyOnWriteArrayList<>();
+        Mockito.when(template.send(any(ProducerRecord.class))).thenAnswer(inv -> {
+            if (!up.get()) return CompletableFuture.failedFuture(new RuntimeException("broker down"));
+            delivered.add(inv.<ProducerRecord<String, byte[]>>getArgument(0).value());
+            return CompletableFuture.completedFuture(Mockito.mock(SendResult.class));
+        });
+        AuditProperties props = new AuditProperties();
+        props.setSpillPath(dir.resolve("spill.log").toString());
+        props.setReplayIntervalMillis(100);
+        producer = new AuditEventProducer(template, props, new SimpleMeterRegistry());
+        producer.start();
+
+        for (int i = 0; i < 5; i++) {
+            producer.sendAuditEvent("LOGIN_FAILURE", null, "u" + i + "@x.io", "FAILURE", "Invalid credentials");
+        }
+        await(() -> Files.exists(dir.resolve("spill.log")));
+
+        up.set(true);
+        await(() -> delivered.size() == 5);
+        String json = new String(delivered.get(0));
+        assertTrue(json.contains("\"action\":\"LOGIN_FAILURE\""), json);
+        assertTrue(json.contains("\"serviceName\":\"customer-service\""), json);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void overflowIsSpilledByTheDrainerNotTheCaller() throws Exception {
+        KafkaTemplate<String, byte[]> template = Mockito.mock(KafkaTemplate.class);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger sends = new AtomicInteger();
+        Mockito.when(template.send(any(ProducerRecord.class))).thenAnswer(inv -> {
+            sends.incrementAndGet();
+            release.await();
+            return CompletableFuture.failedFuture(new RuntimeException("broker down"));
+        });
+        AuditProperties props = new AuditProperties();
+        props.setSpillPath(dir.resolve("spill.log").toString());
+        props.setBufferCapacity(2);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        producer = new AuditEventProducer(template, props, registry);
+        producer.start();
+
+        producer.sendAuditEvent("LOGIN_FAILURE", null, "a@x.io", "FAILURE", "Invalid credentials");
+        await(() -> sends.get() == 1);
+        // Drainer is stuck in send: 2 fill the buffer, 2 the hand-off queue, the last is dropped
+        for (int i = 0; i < 5; i++) producer.sendAuditEvent("LOGIN_FAILURE", null, "a@x.io", "FAILURE", "Invalid credentials");
+        assertFalse(Files.exists(dir.resolve("spill.log")));
+        assertEquals(1, registry.get("customer.audit.events").tag("stage", "dropped").counter().count());
+
+        release.countDown();
+        await(() -> registry.get("customer.audit.events").tag("stage", "spilled").counter().count() == 5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void callbacksAfterStopDoNotReopenTheSpillFile() throws Exception {
+        KafkaTemplate<String, byte[]> template = Mockito.mock(KafkaTemplate.class);
+        CompletableFuture<SendResult<String, byte[]>> inFlight = new CompletableFuture<>();
+        Mockito.when(template.send(any(ProducerRecord.class))).thenReturn(inFlight);
+        AuditProperties props = new AuditProperties();
+        props.setSpillPath(dir.resolve("spill.log").toString());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        producer = new AuditEventProducer(template, props, registry);
+        producer.start();
+
+        producer.sendAuditEvent("LOGIN_FAILURE", null, "a@x.io", "FAILURE", "Invalid credentials");
+        await(() -> Mockito.mockingDetails(template).getInvocations().size() == 1);
+        producer.stop();
+        producer = null;
+
+        inFlight.completeExceptionally(new RuntimeException("broker down"));
+        assertFalse(Files.exists(dir.resolve("spill.log")));
+        assertEquals(1, registry.get("customer.audit.events").tag("stage", "dropped").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void schemaVersionHeaderIsOnlySentOnBinaryTopics() throws Exception {
+        KafkaTemplate<String, byte[]> template = Mockito.mock(KafkaTemplate.class);
+        Map<String, ProducerRecord<String, byte[]>> byTopic = new ConcurrentHashMap<>();
+        Mockito.when(template.send(any(ProducerRecord.class))).thenAnswer(inv -> {
+            ProducerRecord<String, byte[]> record = inv.getArgument(0);
+            byTopic.put(record.topic(), record);
+            return CompletableFuture.completedFuture(Mockito.mock(SendResult.class));
+        });
+        AuditProperties props = new AuditProperties();
+        props.setSpillPath(dir.resolve("spill.log").toString());
+        props.setTopics(List.of(new AuditProperties.TopicRoute("audit.json", AuditFormat.JSON),
+                new AuditProperties.TopicRoute("audit.bin", AuditFormat.BINARY)));
+        producer = new AuditEventProducer(template, props, new SimpleMeterRegistry());
+        producer.start();
+
+        producer.sendAuditEvent("LOGIN_SUCCESS", null, "a@x.io", "SUCCESS", "Login");
+        await(() -> byTopic.size() == 2);
+
+        Headers json = byTopic.get("audit.json").headers();
+        assertEquals("application/json", new String(json.lastHeader("content-type").value()));
+        assertNull(json.lastHeader("schema-version"));
+        Headers binary = byTopic.get("audit.bin").headers();
+        assertEquals(AuditFormat.BINARY.contentType(), new String(binary.lastHeader("content-type").value()));
+        assertEquals(AuditEventBinaryCodec.SCHEMA_VERSION, binary.lastHeader("schema-version").value()[0]);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) throw new AssertionError("condition not met in time");
+            Thread.sleep(20);
+        }
+    }
+}
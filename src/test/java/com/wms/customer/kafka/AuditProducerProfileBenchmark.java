@@ -0,0 +1,133 @@
+package com.wms.customer.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wms.customer.config.AuditProducerProperties;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.TimestampType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Events/sec and bytes on the wire per audit producer profile. Records are appended to Kafka's own
+ * {@link MemoryRecordsBuilder} with each profile's batch size and compression codec, so the output is exactly the
+ * record batch the producer would ship; no broker is involved. Divide the {@code wireBytes} counter by
+ * {@code events} for bytes per event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditProducerProfileBenchmark {
+    private static final int EVENTS = 10_000;
+    private static final Header[] NO_HEADERS = new Header[0];
+    private static final String[] ACTIONS = {"LOGIN_SUCCESS", "LOGIN_FAILURE", "REGISTER_SUCCESS", "KYC_UPDATED"};
+
+    @Param({"DEFAULT", "THROUGHPUT", "THROUGHPUT_ZSTD"})
+    public String profile;
+
+    private byte[][] keys;
+    private byte[][] values;
+    private CompressionType compression;
+    private int batchSize;
+    private ByteBuffer buffer;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class WireStats {
+        public long wireBytes;
+        public long events;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            wireBytes = 0;
+            events = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        AuditProducerProperties props = new AuditProducerProperties();
+        if (profile.equals("THROUGHPUT_ZSTD")) {
+            props.setProfile(AuditProducerProperties.Profile.THROUGHPUT);
+            props.setCompressionType("zstd");
+        } else {
+            props.setProfile(AuditProducerProperties.Profile.valueOf(profile));
+        }
+        Map<String, Object> cfg = props.toProducerConfig();
+        compression = CompressionType.forName(String.valueOf(cfg.getOrDefault(ProducerConfig.COMPRESSION_TYPE_CONFIG, "none")));
+        batchSize = (Integer) cfg.getOrDefault(ProducerConfig.BATCH_SIZE_CONFIG, 16_384);
+        buffer = ByteBuffer.allocate(batchSize * 2);
+
+        ObjectMapper mapper = new ObjectMapper();
+        keys = new byte[EVENTS][];
+        values = new byte[EVENTS][];
+        for (int i = 0; i < EVENTS; i++) {
+            UUID customerId = UUID.randomUUID();
+            AuditEvent e = AuditEvent.builder()
+                    .eventId(UUID.randomUUID())
+                    .occurredAt(OffsetDateTime.now().toString())
+                    .serviceName("customer-service")
+                    .action(ACTIONS[i % ACTIONS.length])
+                    .status(i % 4 == 1 ? "FAILURE" : "SUCCESS")
+                    .customerId(customerId)
+                    .email("customer" + i + "@example.com")
+                    .description(i % 4 == 1 ? "Invalid credentials" : "Login")
+                    .build();
+            keys[i] = customerId.toString().getBytes();
+            values[i] = mapper.writeValueAsBytes(e);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long encodeBatches(WireStats stats) {
+        long now = System.currentTimeMillis();
+        MemoryRecordsBuilder builder = newBuilder();
+        for (int i = 0; i < EVENTS; i++) {
+            if (!builder.hasRoomFor(now, keys[i], values[i], NO_HEADERS)) {
+                stats.wireBytes += builder.build().sizeInBytes();
+                builder = newBuilder();
+            }
+            builder.append(now, keys[i], values[i]);
+        }
+        MemoryRecords last = builder.build();
+        stats.wireBytes += last.sizeInBytes();
+        stats.events += EVENTS;
+        return stats.wireBytes;
+    }
+
+    private MemoryRecordsBuilder newBuilder() {
+        buffer.clear();
+        return MemoryRecords.builder(buffer, compression, TimestampType.CREATE_TIME, 0L, batchSize);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(AuditProducerProfileBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,135 @@
+package com.wms.customer.kafka;
+
+import com.wms.customer.cache.CustomerSnapshotCache;
+import com.wms.customer.cache.RiskProfileCatalog;
+import com.wms.customer.config.RiskProfileConsumerProperties;
+import com.wms.customer.invalidation.CacheInvalidationBus;
+import com.wms.customer.repository.MstCustomerJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+
+class RiskProfileUpdatedListenerTest {
+    private final MstCustomerJdbcRepository repository = Mockito.mock(MstCustomerJdbcRepository.class);
+    private final CustomerSnapshotCache snapshots = Mockito.mock(CustomerSnapshotCache.class);
+    private final RiskProfileCatalog catalog = Mockito.mock(RiskProfileCatalog.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RiskProfileUpdatedListener listener = new RiskProfileUpdatedListener(repository, snapshots,
+            Mockito.mock(CacheInvalidationBus.class), catalog, new RiskProfileConsumerProperties(), registry);
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(catalog.contains(any())).thenReturn(true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void collapsesBatchToLatestEventPerCustomer() {
+        UUID customer = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        UUID low = UUID.randomUUID();
+        UUID high = UUID.randomUUID();
+        UUID mid = UUID.randomUUID();
+
+        listener.apply(List.of(
+                record(0, event(customer, high, "2024-05-01T10:00:05Z")),
+                record(1, event(other, mid, "2024-05-01T10:00:00Z")),
+                // Arrives later but happened earlier: must not overwrite
+                record(2, event(customer, low, "2024-05-01T10:00:01Z"))));
+
+        ArgumentCaptor<Map<UUID, UUID>> captor = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(repository).updateRiskProfiles(captor.capture());
+        assertEquals(Map.of(customer, high, other, mid), captor.getValue());
+    }
+
+    @Test
+    void skipsRedeliveredEvents() {
+        RiskProfileUpdatedEvent e = event(UUID.randomUUID(), UUID.randomUUID(), "2024-05-01T10:00:00Z");
+
+        listener.apply(List.of(record(0, e)));
+        listener.apply(List.of(record(0, e)));
+
+        Mockito.verify(repository, Mockito.times(1)).updateRiskProfiles(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unknownRiskProfilesAreSkipped() {
+        UUID known = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        Mockito.when(catalog.contains(unknown)).thenReturn(false);
+        UUID customer = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        listener.apply(List.of(
+                record(0, event(customer, known, "2024-05-01T10:00:00Z")),
+                record(1, event(other, unknown, "2024-05-01T10:00:00Z"))));
+
+        ArgumentCaptor<Map<UUID, UUID>> captor = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(repository).updateRiskProfiles(captor.capture());
+        assertEquals(Map.of(customer, known), captor.getValue());
+        Mockito.verify(snapshots, Mockito.never()).update(Mockito.eq(other), any());
+        assertEquals(1, registry.get("customer.risk.profile.events").tag("result", "skipped").counter().count());
+    }
+
+    @Test
+    void rejectedRowIsSkippedWhenTheBatchIsRetriedRowByRow() {
+        UUID bad = UUID.randomUUID();
+        UUID good = UUID.randomUUID();
+        Mockito.when(repository.updateRiskProfiles(any())).thenThrow(new DataIntegrityViolationException("fk"));
+        Mockito.when(repository.updateRiskProfile(Mockito.eq(bad), any())).thenThrow(new DataIntegrityViolationException("fk"));
+        Mockito.when(repository.updateRiskProfile(Mockito.eq(good), any())).thenReturn(1);
+
+        listener.apply(List.of(
+                record(0, event(bad, UUID.randomUUID(), "2024-05-01T10:00:00Z")),
+                record(1, event(good, UUID.randomUUID(), "2024-05-01T10:00:00Z"))));
+
+        Mockito.verify(repository).updateRiskProfile(Mockito.eq(good), any());
+        Mockito.verify(snapshots).update(Mockito.eq(good), any());
+        Mockito.verify(snapshots, Mockito.never()).update(Mockito.eq(bad), any());
+        assertEquals(1, registry.get("customer.risk.profile.events").tag("result", "applied").counter().count());
+        assertEquals(1, registry.get("customer.risk.profile.events").tag("result", "skipped").counter().count());
+    }
+
+    @Test
+    void transientFailureNamesTheRecordToRetryFrom() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Mockito.when(repository.updateRiskProfiles(any())).thenThrow(new QueryTimeoutException("timeout"));
+        Mockito.when(repository.updateRiskProfile(Mockito.eq(first), any())).thenReturn(1);
+        Mockito.when(repository.updateRiskProfile(Mockito.eq(second), any())).thenThrow(new QueryTimeoutException("timeout"));
+
+        BatchListenerFailedException ex = assertThrows(BatchListenerFailedException.class, () -> listener.apply(List.of(
+                record(0, event(first, UUID.randomUUID(), "2024-05-01T10:00:00Z")),
+                record(1, event(second, UUID.randomUUID(), "2024-05-01T10:00:00Z")))));
+        assertEquals(1, ex.getIndex());
+    }
+
+    private static RiskProfileUpdatedEvent event(UUID customerId, UUID riskProfileId, String occurredAt) {
+        return RiskProfileUpdatedEvent.builder()
+                .schemaVersion(1)
+                .eventId(UUID.randomUUID())
+                .occurredAt(occurredAt)
+                .customerId(customerId)
+                .riskProfileId(riskProfileId)
+                .build();
+    }
+
+    private static ConsumerRecord<String, RiskProfileUpdatedEvent> record(long offset, RiskProfileUpdatedEvent e) {
+        return new ConsumerRecord<>("crp.risk-profile.updated", 0, offset, e.getCustomerId().toString(), e);
+    }
+}
@@ -0,0 +1,109 @@
+package com.wms.customer.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator for register and login against a running instance, used to compare persistence
+ * profiles: start the service with {@code PERSISTENCE_PROFILE=DEFAULT}, run this, restart with {@code TUNED}, run
+ * again.
+ * <pre>
+ * java -cp target/test-classes com.wms.customer.load.AuthLoadHarness \
+ *     [baseUrl] [concurrency] [registrations] [loginSeconds]
+ * </pre>
+ * Prints requests/sec and latency percentiles per phase, followed by the pool metrics from the actuator so wait time
+ * on {@code hikaricp.connections.acquire} can be read next to the throughput numbers.
+ * <p>
+ * All traffic comes from one address and logs in each account many times a minute, so start the service with
+ * {@code LOGIN_THROTTLE_ENABLED=false}; otherwise the login phase measures 429s. The harness checks this before it
+ * starts and exits if logins are being throttled.
+ */
+public final class AuthLoadHarness {
+    private final LoadClient http;
+    private final int concurrency;
+
+    private AuthLoadHarness(String baseUrl, int concurrency) {
+        this.http = new LoadClient(HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build(), baseUrl);
+        this.concurrency = concurrency;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int registrations = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+        int loginSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+
+        AuthLoadHarness harness = new AuthLoadHarness(baseUrl, concurrency);
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        List<String> emails = new ArrayList<>(registrations);
+        for (int i = 0; i < registrations; i++) emails.add("load-" + runId + "-" + i + "@example.com");
+
+        AtomicInteger next = new AtomicInteger();
+        harness.run("register", () -> {
+            int i = next.getAndIncrement();
+            if (i >= emails.size()) return null;
+            return harness.http.post("/v1/auth/register", "{\"name\":\"Load " + i + "\",\"email\":\"" + emails.get(i)
+                    + "\",\"password\":\"" + LoadClient.PASSWORD + "\",\"address\":\"Jl. Load " + i + "\"}");
+        }, Long.MAX_VALUE);
+
+        harness.http.requireLoginThrottleDisabled(emails.get(0));
+
+        AtomicInteger cursor = new AtomicInteger();
+        long deadline = System.nanoTime() + Duration.ofSeconds(loginSeconds).toNanos();
+        harness.run("login", () -> harness.http.login(emails.get(Math.floorMod(cursor.getAndIncrement(), emails.size()))),
+                deadline);
+
+        for (String metric : List.of("hikaricp.connections.acquire", "hikaricp.connections.pending", "hikaricp.connections.active")) {
+            String body = harness.http.get("/actuator/metrics/" + metric);
+            System.out.println(metric + ": " + (body != null ? body : "unavailable"));
+        }
+    }
+
+    /** A request to issue, or {@code null} when the phase has no more work. */
+    private interface Call {
+        HttpRequest next();
+    }
+
+    private void run(String phase, Call call, long deadlineNanos) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        List<long[]> perWorker = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        long started = System.nanoTime();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            futures.add(pool.submit(() -> {
+                long[] latencies = new long[1024];
+                int n = 0;
+                HttpRequest req;
+                while (System.nanoTime() < deadlineNanos && (req = call.next()) != null) {
+                    long t0 = System.nanoTime();
+                    HttpResponse<Void> res = http.client.send(req, HttpResponse.BodyHandlers.discarding());
+                    long took = System.nanoTime() - t0;
+                    if (res.statusCode() != 200) errors.incrementAndGet();
+                    if (n == latencies.length) latencies = Arrays.copyOf(latencies, n * 2);
+                    latencies[n++] = took;
+                }
+                return Arrays.copyOf(latencies, n);
+            }));
+        }
+        for (Future<long[]> f : futures) perWorker.add(f.get());
+        pool.shutdown();
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long[] all = perWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%-8s requests=%d errors=%d rps=%.1f p50=%.1fms p95=%.1fms p99=%.1fms%n",
+                phase, all.length, errors.get(), all.length / seconds,
+                LoadClient.percentile(all, 0.50), LoadClient.percentile(all, 0.95), LoadClient.percentile(all, 0.99));
+    }
+}
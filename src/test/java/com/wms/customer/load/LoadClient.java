@@ -0,0 +1,66 @@
+package com.wms.customer.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * HTTP plumbing shared by the load harnesses: request building against one base URL, the preflight that refuses to
+ * measure a throttled service, and latency percentiles.
+ */
+final class LoadClient {
+    static final String PASSWORD = "LoadTest123";
+
+    final HttpClient client;
+    private final String baseUrl;
+
+    LoadClient(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    HttpRequest login(String email) {
+        return post("/v1/auth/login", "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}");
+    }
+
+    /** Body of a GET, or {@code null} when the instance cannot be reached. */
+    String get(String path) {
+        try {
+            return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Logs {@code email} in more often than any sensible per-email limit allows and exits with status 2 if the service
+     * pushes back: every harness drives one account from one address, so it has to run with
+     * {@code LOGIN_THROTTLE_ENABLED=false}.
+     */
+    void requireLoginThrottleDisabled(String email) throws Exception {
+        HttpRequest login = login(email);
+        for (int i = 0; i < 20; i++) {
+            if (client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode() == 429) {
+                System.err.println("Logins are being throttled; restart the service with LOGIN_THROTTLE_ENABLED=false");
+                System.exit(2);
+            }
+        }
+    }
+
+    /** The {@code p} quantile of {@code sorted} nanosecond latencies, in milliseconds. */
+    static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return Double.NaN;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,129 @@
+package com.wms.customer.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Holds a fixed number of login requests in flight against a running instance, stepping through increasing levels,
+ * to compare platform-thread and virtual-thread request handling: run it once against the service started with
+ * {@code VIRTUAL_THREADS_ENABLED=false} and once with {@code true} (Java 21, {@code -Pjava21}).
+ * <pre>
+ * java -cp target/test-classes com.wms.customer.load.VirtualThreadLoadHarness [baseUrl] [levels] [secondsPerLevel]
+ * </pre>
+ * {@code levels} is a comma-separated list of client concurrencies (default {@code 50,200,800,1600}). Per level it
+ * prints throughput, latency and status counts, plus figures read from the server's actuator: the peak number of
+ * requests in flight and peak live threads (sampled), and heap allocated per login, which is the growth of
+ * {@code jvm.gc.memory.allocated} over the level divided by the growth of the server's own login count. Micrometer
+ * adds to that counter at each young collection, so the figure is only meaningful over levels long enough to span
+ * many collections. Start the service with {@code LOGIN_THROTTLE_ENABLED=false}: every request logs in the same
+ * account from the same address, so with the throttle on nearly all of them would be answered 429 without reaching
+ * the password check. The harness exits if it sees logins being throttled before the first level.
+ */
+public final class VirtualThreadLoadHarness {
+    private static final String ALLOCATED = "jvm.gc.memory.allocated";
+    private static final String LOGINS = "http.server.requests?tag=uri:/v1/auth/login";
+    private static final Pattern VALUE = Pattern.compile("\"statistic\":\"(\\w+)\",\"value\":([0-9.Ee+-]+)");
+
+    private final LoadClient http;
+
+    private VirtualThreadLoadHarness(String baseUrl) {
+        this.http = new LoadClient(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build(), baseUrl);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String levels = args.length > 1 ? args[1] : "50,200,800,1600";
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        VirtualThreadLoadHarness harness = new VirtualThreadLoadHarness(baseUrl);
+        String email = "vt-" + UUID.randomUUID().toString().substring(0, 8) + "@example.com";
+        harness.http.client.send(harness.http.post("/v1/auth/register", "{\"name\":\"Virtual Load\",\"email\":\"" + email
+                + "\",\"password\":\"" + LoadClient.PASSWORD + "\",\"address\":\"Jl. Load 1\"}"), HttpResponse.BodyHandlers.discarding());
+        harness.http.requireLoginThrottleDisabled(email);
+
+        System.out.printf("idle threads=%.0f%n", harness.metric("jvm.threads.live", "VALUE"));
+        HttpRequest login = harness.http.login(email);
+        for (String level : levels.split(",")) {
+            harness.runLevel(Integer.parseInt(level.trim()), seconds, login);
+        }
+    }
+
+    private void runLevel(int concurrency, int seconds, HttpRequest request) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong ok = new AtomicLong();
+        AtomicLong throttled = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+
+        LongAccumulator peakInFlight = new LongAccumulator(Math::max, 0);
+        LongAccumulator peakThreads = new LongAccumulator(Math::max, 0);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleWithFixedDelay(() -> {
+            peakInFlight.accumulate((long) metric("http.server.requests.active", "ACTIVE_TASKS"));
+            peakThreads.accumulate((long) metric("jvm.threads.live", "VALUE"));
+        }, 0, 250, TimeUnit.MILLISECONDS);
+
+        double allocatedBefore = metric(ALLOCATED, "COUNT");
+        double loginsBefore = metric(LOGINS, "COUNT");
+        long started = System.nanoTime();
+        List<CompletableFuture<Void>> chains = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            chains.add(loop(request, deadline, latencies, ok, throttled, failed));
+        }
+        CompletableFuture.allOf(chains.toArray(CompletableFuture[]::new)).join();
+        double elapsed = (System.nanoTime() - started) / 1e9;
+        sampler.shutdownNow();
+        double logins = metric(LOGINS, "COUNT") - loginsBefore;
+        double allocatedPerLogin = logins > 0 ? (metric(ALLOCATED, "COUNT") - allocatedBefore) / logins : Double.NaN;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("clients=%-5d rps=%.1f p50=%.1fms p99=%.1fms ok=%d 429=%d failed=%d | server in-flight peak=%d"
+                        + " threads peak=%d allocated/login=%.1fKiB%n",
+                concurrency, sorted.length / elapsed, LoadClient.percentile(sorted, 0.50), LoadClient.percentile(sorted, 0.99),
+                ok.get(), throttled.get(), failed.get(), peakInFlight.get(), peakThreads.get(), allocatedPerLogin / 1024);
+    }
+
+    /** One client slot: re-issues the request as soon as the previous one completes, until the deadline. */
+    private CompletableFuture<Void> loop(HttpRequest request, long deadline, List<Long> latencies,
+                                         AtomicLong ok, AtomicLong throttled, AtomicLong failed) {
+        if (System.nanoTime() >= deadline) return CompletableFuture.completedFuture(null);
+        long t0 = System.nanoTime();
+        return http.client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((res, err) -> {
+                    latencies.add(System.nanoTime() - t0);
+                    if (err != null || res.statusCode() >= 500) failed.incrementAndGet();
+                    else if (res.statusCode() == 429) throttled.incrementAndGet();
+                    else ok.incrementAndGet();
+                    return null;
+                })
+                .thenCompose(ignored -> loop(request, deadline, latencies, ok, throttled, failed));
+    }
+
+    private double metric(String name, String statistic) {
+        String body = http.get("/actuator/metrics/" + name);
+        // Unreachable, or the metric is not published yet
+        if (body == null) return 0;
+        Matcher m = VALUE.matcher(body);
+        while (m.find()) {
+            if (m.group(1).equals(statistic)) return Double.parseDouble(m.group(2));
+        }
+        return 0;
+    }
+}
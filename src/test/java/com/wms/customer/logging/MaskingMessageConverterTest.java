@@ -0,0 +1,42 @@
+package com.wms.customer.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MaskingMessageConverterTest {
+
+    @Test
+    void masksEmailAndNik() {
+        assertEquals("register failed for j***@example.com nik=************3456",
+                MaskingMessageConverter.mask("register failed for john.doe@example.com nik=1234567890123456"));
+    }
+
+    @Test
+    void leavesOtherMessagesUntouched() {
+        String msg = "method=POST path=/v1/auth/login status=200 latencyMs=12.5 phone=08123456789";
+        assertSame(msg, MaskingMessageConverter.mask(msg));
+        // 17 digits is not a NIK
+        assertEquals("id=12345678901234567", MaskingMessageConverter.mask("id=12345678901234567"));
+    }
+
+    @Test
+    void masksExceptionMessagesInStackTraces() {
+        LoggerContext context = new LoggerContext();
+        LoggingEvent event = new LoggingEvent(getClass().getName(), context.getLogger("test"), Level.ERROR,
+                "Register failed", new IllegalStateException("duplicate key: Key (email)=(john.doe@example.com) already exists."), null);
+        MaskingThrowableProxyConverter converter = new MaskingThrowableProxyConverter();
+        converter.setContext(context);
+        converter.start();
+
+        String rendered = converter.convert(event);
+        assertTrue(rendered.contains("Key (email)=(j***@example.com)"), rendered);
+        assertFalse(rendered.contains("john.doe"), rendered);
+    }
+}
@@ -0,0 +1,31 @@
+package com.wms.customer.metrics;
+
+import com.wms.customer.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OperationTimingsTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OperationTimings timings = new OperationTimings(registry);
+
+    @Test
+    void tagsPhasesAndOperationsByOutcome() {
+        assertThrows(BusinessException.class, () -> timings.operation("login", () -> {
+            timings.phase("login", "db_fetch", () -> "row");
+            throw new BusinessException("AUTH_INVALID_CREDENTIALS");
+        }));
+        assertThrows(IllegalStateException.class, () -> timings.phase("login", "token_mint", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, registry.get(OperationTimings.PHASE)
+                .tags("operation", "login", "phase", "db_fetch", "outcome", "success").timer().count());
+        assertEquals(1, registry.get(OperationTimings.PHASE)
+                .tags("operation", "login", "phase", "token_mint", "outcome", "INTERNAL_ERROR").timer().count());
+        assertEquals(1, registry.get(OperationTimings.OPERATION)
+                .tags("operation", "login", "outcome", "AUTH_INVALID_CREDENTIALS").timer().count());
+    }
+}
@@ -0,0 +1,93 @@
+package com.wms.customer.metrics;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.wms.customer.config.VirtualThreadProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadPinningMonitorTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final VirtualThreadProperties props = new VirtualThreadProperties();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private final ListAppender<ILoggingEvent> logged = new ListAppender<>();
+
+    /** Stands in for {@code jdk.VirtualThreadPinned}, which cannot be emitted on demand (or at all before Java 21). */
+    @Name("com.wms.customer.test.Pinned")
+    static class PinnedEvent extends Event {
+    }
+
+    @BeforeEach
+    void attachAppender() {
+        logged.start();
+        logger.addAppender(logged);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(logged);
+    }
+
+    @Test
+    void everyEventIsTimedAndStackTracesAreThrottled(@TempDir Path dir) throws Exception {
+        props.setPinningLogInterval(Duration.ofSeconds(10));
+        // An origin below zero, as System.nanoTime may have
+        AtomicLong now = new AtomicLong(Long.MIN_VALUE / 2);
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(props, registry, now::get);
+        List<RecordedEvent> events = record(dir, 3);
+
+        monitor.onPinned(events.get(0));
+        monitor.onPinned(events.get(1));
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        monitor.onPinned(events.get(2));
+
+        assertEquals(3, registry.get("customer.virtual.thread.pinned").tag("source", "application").timer().count());
+        assertEquals(2, logged.list.size());
+        assertTrue(logged.list.get(0).getFormattedMessage().contains(VirtualThreadPinningMonitorTest.class.getName()));
+    }
+
+    @Test
+    void sourceIsTheFirstRecognisedLibraryOnTheStack(@TempDir Path dir) throws Exception {
+        RecordedEvent event = record(dir, 1).get(0);
+
+        assertEquals("application", VirtualThreadPinningMonitor.source(event.getStackTrace().getFrames()));
+        assertEquals("other", VirtualThreadPinningMonitor.source(List.of()));
+        assertFalse(event.getDuration().isNegative());
+    }
+
+    private static List<RecordedEvent> record(Path dir, int count) throws Exception {
+        Path file = dir.resolve("pinned.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PinnedEvent.class).withStackTrace();
+            recording.start();
+            for (int i = 0; i < count; i++) {
+                PinnedEvent event = new PinnedEvent();
+                event.begin();
+                Thread.sleep(1);
+                event.commit();
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+}
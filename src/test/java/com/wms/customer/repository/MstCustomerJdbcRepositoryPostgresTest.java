@@ -0,0 +1,88 @@
+package com.wms.customer.repository;
+
+import com.wms.customer.entity.MstCustomer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the PostgreSQL-only statements ({@code on conflict (email)}, {@code unnest}) against a real server, plus the KYC
+ * update as the driver rewrites it ({@code returning email}).
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(MstCustomerJdbcRepository.class)
+class MstCustomerJdbcRepositoryPostgresTest {
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired private MstCustomerJdbcRepository jdbcRepository;
+    @Autowired private MstCustomerRepository repository;
+
+    @Test
+    void insertIfEmailAbsentReportsEmailConflictInsteadOfThrowing() {
+        assertTrue(jdbcRepository.insertIfEmailAbsent(MstCustomerJdbcRepositoryTest.customer("new@example.com")));
+        assertFalse(jdbcRepository.insertIfEmailAbsent(MstCustomerJdbcRepositoryTest.customer("new@example.com")));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void otherConflictsStillFail() {
+        MstCustomer first = MstCustomerJdbcRepositoryTest.customer("first@example.com");
+        jdbcRepository.insertIfEmailAbsent(first);
+        MstCustomer sameId = MstCustomerJdbcRepositoryTest.customer("second@example.com");
+        sameId.setCustomerId(first.getCustomerId());
+
+        assertThrows(DuplicateKeyException.class, () -> jdbcRepository.insertIfEmailAbsent(sameId));
+    }
+
+    @Test
+    void setBasedUpdateAppliesEveryPair() {
+        MstCustomer a = MstCustomerJdbcRepositoryTest.customer("a@example.com");
+        MstCustomer b = MstCustomerJdbcRepositoryTest.customer("b@example.com");
+        jdbcRepository.insertIfEmailAbsent(a);
+        jdbcRepository.insertIfEmailAbsent(b);
+        UUID riskProfile = UUID.randomUUID();
+
+        assertEquals(2, jdbcRepository.updateRiskProfiles(Map.of(a.getCustomerId(), riskProfile,
+                b.getCustomerId(), riskProfile, UUID.randomUUID(), riskProfile)));
+        assertEquals(riskProfile, repository.findById(b.getCustomerId()).orElseThrow().getIdRiskProfile());
+    }
+
+    @Test
+    void kycUpdateReturnsTheEmail() {
+        MstCustomer c = MstCustomerJdbcRepositoryTest.customer("kyc@example.com");
+        jdbcRepository.insertIfEmailAbsent(c);
+
+        assertEquals(Optional.of("kyc@example.com"),
+                jdbcRepository.updateKyc(c.getCustomerId(), "1234567890123456", "Bandung", LocalDate.of(1990, 1, 2)));
+        assertEquals("Bandung", repository.findSnapshotById(c.getCustomerId()).orElseThrow().getPob());
+        assertEquals(Optional.empty(), jdbcRepository.updateKyc(UUID.randomUUID(), "1234567890123456", "Bandung", null));
+    }
+}
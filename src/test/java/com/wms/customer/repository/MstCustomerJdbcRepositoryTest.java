@@ -0,0 +1,106 @@
+package com.wms.customer.repository;
+
+import com.wms.customer.dto.request.RiskProfileAssignment;
+import com.wms.customer.entity.MstCustomer;
+import com.wms.customer.repository.projection.CustomerSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statements that also run on H2; the PostgreSQL-only ones are covered by
+ * {@link MstCustomerJdbcRepositoryPostgresTest}.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jdbcrepo;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(MstCustomerJdbcRepository.class)
+class MstCustomerJdbcRepositoryTest {
+    @Autowired private MstCustomerJdbcRepository jdbcRepository;
+    @Autowired private MstCustomerRepository repository;
+    @Autowired private DataSource dataSource;
+
+    @Test
+    void batchUpdateReportsPerRowCounts() {
+        MstCustomer c = repository.saveAndFlush(customer("batch@example.com"));
+        UUID riskProfile = UUID.randomUUID();
+
+        int[] counts = jdbcRepository.batchUpdateRiskProfiles(List.of(
+                new RiskProfileAssignment(c.getCustomerId(), riskProfile),
+                new RiskProfileAssignment(UUID.randomUUID(), riskProfile)));
+
+        assertArrayEquals(new int[] {1, 0}, counts);
+        // A projection query, since the saved entity in the persistence context does not see the JDBC update
+        assertEquals(riskProfile, repository.findSnapshotById(c.getCustomerId()).orElseThrow().getIdRiskProfile());
+    }
+
+    @Test
+    void kycUpdateReturnsTheEmailFromOneStatement() {
+        MstCustomer c = repository.saveAndFlush(customer("kyc@example.com"));
+        AtomicInteger statements = new AtomicInteger();
+        MstCustomerJdbcRepository counted = new MstCustomerJdbcRepository(new JdbcTemplate(counting(dataSource, statements)));
+
+        assertEquals(Optional.of("kyc@example.com"),
+                counted.updateKyc(c.getCustomerId(), "1234567890123456", "Bandung", LocalDate.of(1990, 1, 2)));
+        assertEquals(1, statements.get());
+
+        CustomerSnapshot written = repository.findSnapshotById(c.getCustomerId()).orElseThrow();
+        assertEquals("1234567890123456", written.getNik());
+        assertEquals(LocalDate.of(1990, 1, 2), written.getDob());
+        assertEquals(Optional.empty(), jdbcRepository.updateKyc(UUID.randomUUID(), "1234567890123456", "Bandung", null));
+    }
+
+    /** Joins the test transaction's connection and counts the statements prepared on it. */
+    private static DataSource counting(DataSource dataSource, AtomicInteger statements) {
+        return new TransactionAwareDataSourceProxy(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection con = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                        (proxy, method, args) -> {
+                            if (method.getName().startsWith("prepare")) statements.incrementAndGet();
+                            try {
+                                return method.invoke(con, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            }
+                        });
+            }
+        };
+    }
+
+    static MstCustomer customer(String email) {
+        return MstCustomer.builder()
+                .customerId(UUID.randomUUID())
+                .name("Test")
+                .email(email)
+                .passwordHash("hash")
+                .nik("-")
+                .pob("-")
+                .dob(LocalDate.now())
+                .build();
+    }
+}
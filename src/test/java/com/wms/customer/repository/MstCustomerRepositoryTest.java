@@ -0,0 +1,108 @@
+package com.wms.customer.repository;
+
+import com.wms.customer.entity.MstCustomer;
+import com.wms.customer.entity.MstRiskProfileRef;
+import com.wms.customer.repository.projection.CustomerLoginView;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class MstCustomerRepositoryTest {
+    @Autowired private MstCustomerRepository repository;
+    @Autowired private EntityManager em;
+
+    private Statistics stats;
+    private final UUID riskProfileId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MstRiskProfileRef ref = new MstRiskProfileRef();
+        ref.setRiskProfileId(riskProfileId);
+        ref.setProfileType("MODERATE");
+        em.persist(ref);
+        em.persist(customer("with-profile@example.com", riskProfileId));
+        em.persist(customer("no-profile@example.com", null));
+        em.flush();
+        em.clear();
+        stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @Test
+    void loginViewJoinsProfileTypeInOneStatement() {
+        CustomerLoginView view = repository.findLoginViewByEmail("with-profile@example.com").orElseThrow();
+
+        assertEquals("MODERATE", view.getRiskProfileType());
+        assertEquals("hash", view.getPasswordHash());
+        assertEquals(1, stats.getPrepareStatementCount());
+        assertEquals(0, stats.getEntityLoadCount());
+    }
+
+    @Test
+    void loginViewWithoutRiskProfile() {
+        CustomerLoginView view = repository.findLoginViewByEmail("no-profile@example.com").orElseThrow();
+
+        assertNull(view.getIdRiskProfile());
+        assertNull(view.getRiskProfileType());
+        assertTrue(repository.findLoginViewByEmail("missing@example.com").isEmpty());
+    }
+
+    @Test
+    void passwordChangeIsOneCompareAndSetStatement() {
+        UUID id = idOf("no-profile@example.com");
+        stats.clear();
+
+        assertEquals(1, repository.compareAndSetPasswordHash(id, "hash", "new-hash"));
+        assertEquals(1, stats.getPrepareStatementCount());
+        // A second writer that verified against the old hash loses instead of overwriting
+        assertEquals(0, repository.compareAndSetPasswordHash(id, "hash", "other-hash"));
+        assertEquals("new-hash", repository.findPasswordHashById(id).orElseThrow());
+    }
+
+    @Test
+    void riskProfileWriteIsASingleStatement() {
+        UUID id = idOf("no-profile@example.com");
+        stats.clear();
+
+        assertEquals(1, repository.updateRiskProfile(id, riskProfileId));
+        assertEquals(1, stats.getPrepareStatementCount());
+        assertEquals(0, repository.updateRiskProfile(UUID.randomUUID(), riskProfileId));
+        assertEquals(0, stats.getEntityLoadCount());
+
+        em.clear();
+        MstCustomer c = repository.findById(id).orElseThrow();
+        assertEquals(riskProfileId, c.getIdRiskProfile());
+        assertEquals("hash", c.getPasswordHash());
+    }
+
+    private UUID idOf(String email) {
+        return repository.findLoginViewByEmail(email).orElseThrow().getCustomerId();
+    }
+
+    private static MstCustomer customer(String email, UUID riskProfile) {
+        return MstCustomer.builder()
+                .customerId(UUID.randomUUID())
+                .name("Test")
+                .email(email)
+                .passwordHash("hash")
+                .nik("-")
+                .pob("-")
+                .idRiskProfile(riskProfile)
+                .build();
+    }
+}
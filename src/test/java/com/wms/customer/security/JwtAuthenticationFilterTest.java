@@ -0,0 +1,134 @@
+package com.wms.customer.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wms.customer.config.I18nProperties;
+import com.wms.customer.config.JwtProperties;
+import com.wms.customer.config.JwtVerificationProperties;
+import com.wms.customer.config.MessageSourceConfig;
+import com.wms.customer.i18n.LocalizedMessages;
+import com.wms.customer.web.PrecomputedResponses;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtAuthenticationFilterTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JwtProperties jwtProps = new JwtProperties();
+    private final JwtVerificationProperties props = new JwtVerificationProperties();
+    private JwtTokenService tokens;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtProps.setSecret("filter-test-secret");
+        tokens = new JwtTokenService(jwtProps);
+        I18nProperties i18n = new I18nProperties();
+        LocalizedMessages messages = new LocalizedMessages(new MessageSourceConfig().messageSource(i18n), i18n);
+        filter = new JwtAuthenticationFilter(new JwtVerifier(tokens, jwtProps, props, registry),
+                new PrecomputedResponses(new ObjectMapper(), messages), props);
+    }
+
+    @Test
+    void verifiedSubjectReplacesClientSuppliedUserId() throws Exception {
+        UUID customerId = UUID.randomUUID();
+        String token = tokens.createToken(customerId, "Test", "t@example.com");
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/kyc-status");
+            request.addHeader("Authorization", "Bearer " + token);
+            request.addHeader("X-User-Id", UUID.randomUUID().toString());
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            assertEquals(customerId.toString(), ((jakarta.servlet.http.HttpServletRequest) chain.getRequest()).getHeader("X-User-Id"));
+        }
+        assertEquals(1.0, registry.get("customer.jwt.verify.cache").tag("result", "miss").counter().count());
+        assertEquals(2.0, registry.get("customer.jwt.verify.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void missingForgedOrForeignTokensAreRejected() throws Exception {
+        String token = tokens.createToken(UUID.randomUUID(), "Test", "t@example.com");
+        String forged = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        for (String authorization : new String[] {null, "Bearer " + forged, "Basic abc"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/auth/change-password");
+            if (authorization != null) request.addHeader("Authorization", authorization);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, response, chain);
+            assertEquals(401, response.getStatus());
+            assertTrue(response.getContentAsString().contains("AUTH_TOKEN_INVALID"));
+            assertNull(chain.getRequest());
+        }
+
+        MockHttpServletRequest open = new MockHttpServletRequest("POST", "/v1/auth/login");
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(open, new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void encodedAndParameterisedPathsAreStillProtected() throws Exception {
+        for (String uri : new String[] {"/v1/kyc;x=1", "/v1/%6Byc", "/v1/kyc-status;jsessionid=abc", "/v1//kyc"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, response, chain);
+            assertEquals(401, response.getStatus(), uri);
+            assertNull(chain.getRequest(), uri);
+        }
+
+        MockHttpServletRequest underContext = new MockHttpServletRequest("POST", "/customer/v1/auth/change-password");
+        underContext.setContextPath("/customer");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(underContext, response, new MockFilterChain());
+        assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    void cachedTokensGetTheSameClockSkewAsParsedOnes() {
+        String token = tokens.createToken(UUID.randomUUID(), "Test", "t@example.com");
+        Instant issued = Instant.now();
+        AtomicReference<Instant> now = new AtomicReference<>(issued);
+        Clock clock = new Clock() {
+            @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+            @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+            @Override public Instant instant() { return now.get(); }
+        };
+        JwtVerifier verifier = new JwtVerifier(tokens, jwtProps, props, registry, clock);
+        assertNotNull(verifier.verify(token));
+
+        long skew = props.getAllowedClockSkew().toSeconds();
+        now.set(issued.plusSeconds(jwtProps.getExpMinutes() * 60 + skew / 2));
+        assertNotNull(verifier.verify(token));
+        assertEquals(1.0, registry.get("customer.jwt.verify.cache").tag("result", "hit").counter().count());
+
+        now.set(issued.plusSeconds(jwtProps.getExpMinutes() * 60 + skew + 2));
+        assertNull(verifier.verify(token));
+    }
+
+    @Test
+    void tokensStopVerifyingAfterExp() {
+        String token = tokens.createToken(UUID.randomUUID(), "Test", "t@example.com");
+        JwtVerifier now = new JwtVerifier(tokens, jwtProps, props, registry);
+        assertNotNull(now.verify(token));
+
+        Instant afterExp = Instant.now().plusSeconds(jwtProps.getExpMinutes() * 60 + props.getAllowedClockSkew().toSeconds() + 1);
+        JwtVerifier later = new JwtVerifier(tokens, jwtProps, props, new SimpleMeterRegistry(), Clock.fixed(afterExp, ZoneOffset.UTC));
+        assertNull(later.verify(token));
+    }
+}
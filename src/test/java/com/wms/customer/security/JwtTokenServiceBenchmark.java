@@ -0,0 +1,76 @@
+package com.wms.customer.security;
+
+import com.wms.customer.config.JwtProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens/sec of the previous per-call key derivation + jjwt builder path against the cached-key minting path.
+ * Run {@link #main} from the test classpath; add {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class JwtTokenServiceBenchmark {
+    private static final String SECRET = "dev-secret-change-me";
+
+    private JwtTokenService service;
+    private final UUID userId = UUID.randomUUID();
+
+    @Setup
+    public void setUp() {
+        JwtProperties props = new JwtProperties();
+        props.setSecret(SECRET);
+        service = new JwtTokenService(props);
+    }
+
+    @Benchmark
+    public String legacyBuilderWithPerCallKey() throws Exception {
+        byte[] hashed = MessageDigest.getInstance("SHA-256").digest(SECRET.getBytes(StandardCharsets.UTF_8));
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setHeaderParam("typ", "JWT")
+                .setIssuer("wms-gateway")
+                .setSubject(userId.toString())
+                .addClaims(Map.of("name", "Jane Customer", "email", "jane@example.com"))
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusSeconds(7200)))
+                .signWith(Keys.hmacShaKeyFor(hashed), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String cachedKeyMinting() {
+        return service.createToken(userId, "Jane Customer", "jane@example.com");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(JwtTokenServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,91 @@
+package com.wms.customer.security;
+
+import com.wms.customer.config.JwtProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtTokenServiceTest {
+
+    private static JwtTokenService service(JwtProperties props) {
+        return new JwtTokenService(props);
+    }
+
+    @Test
+    void mintedTokenVerifiesWithJjwt() {
+        JwtProperties props = new JwtProperties();
+        props.setSecret("unit-test-secret");
+        JwtTokenService svc = service(props);
+        UUID id = UUID.randomUUID();
+
+        String token = svc.createToken(id, "Bügi \"Q\" \\ 😀\n", "b@x.io");
+        Jws<Claims> jws = Jwts.parserBuilder()
+                .setSigningKey(JwtTokenService.deriveKey("unit-test-secret"))
+                .build()
+                .parseClaimsJws(token);
+
+        assertEquals("default", jws.getHeader().getKeyId());
+        assertEquals(id.toString(), jws.getBody().getSubject());
+        assertEquals("wms-gateway", jws.getBody().getIssuer());
+        assertEquals("Bügi \"Q\" \\ 😀\n", jws.getBody().get("name"));
+        assertEquals("b@x.io", jws.getBody().get("email"));
+        assertEquals(15 * 60, (jws.getBody().getExpiration().getTime() - jws.getBody().getIssuedAt().getTime()) / 1000);
+    }
+
+    @Test
+    void edgeCaseClaimsRoundTrip() {
+        JwtProperties props = new JwtProperties();
+        props.setSecret("unit-test-secret");
+        JwtTokenService svc = service(props);
+        String[] names = {"", "x".repeat(5000), "\u0000\u001f\u007f\u2028</script>", "\uD83D", "a\uDE00b", "日本語 ñ ü"};
+
+        for (String name : names) {
+            String token = svc.createToken(UUID.randomUUID(), name, "ü@例え.jp");
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(JwtTokenService.deriveKey("unit-test-secret"))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            // Unpaired surrogates included: they travel as JSON escapes and come back unchanged
+            assertEquals(name, claims.get("name"));
+            assertEquals("ü@例え.jp", claims.get("email"));
+        }
+    }
+
+    @Test
+    void signsWithActiveKidAndKeepsRetiredKeysForVerification() {
+        JwtProperties props = new JwtProperties();
+        props.getKeys().put("k1", "old-secret");
+        props.getKeys().put("k2", "new-secret");
+        props.setActiveKid("k2");
+        JwtTokenService svc = service(props);
+
+        String token = svc.createToken(UUID.randomUUID(), "n", "e@x.io");
+        Jws<Claims> jws = Jwts.parserBuilder()
+                .setSigningKeyResolver(new io.jsonwebtoken.SigningKeyResolverAdapter() {
+                    @Override
+                    public java.security.Key resolveSigningKey(io.jsonwebtoken.JwsHeader header, Claims claims) {
+                        return svc.verificationKey(header.getKeyId());
+                    }
+                })
+                .build()
+                .parseClaimsJws(token);
+
+        assertEquals("k2", jws.getHeader().getKeyId());
+        assertEquals(JwtTokenService.deriveKey("old-secret"), svc.verificationKey("k1"));
+    }
+
+    @Test
+    void unknownActiveKidFailsFast() {
+        JwtProperties props = new JwtProperties();
+        props.getKeys().put("k1", "s");
+        props.setActiveKid("missing");
+        assertThrows(IllegalStateException.class, () -> service(props));
+    }
+}
@@ -0,0 +1,146 @@
+package com.wms.customer.security;
+
+import com.wms.customer.config.PasswordEncoderConfig;
+import com.wms.customer.config.PasswordHashingProperties;
+import com.wms.customer.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceTest {
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.shutdown();
+    }
+
+    private PasswordHashingService service(PasswordHashingProperties props) {
+        service = new PasswordHashingService(props, new PasswordEncoderConfig().passwordEncoder(props), new SimpleMeterRegistry());
+        return service;
+    }
+
+    @Test
+    void legacyAndWeakerHashesVerifyAndAreFlaggedForRehash() throws Exception {
+        PasswordHashingProperties props = new PasswordHashingProperties();
+        props.setCalibrate(false);
+        props.setBcryptStrength(5);
+        PasswordHashingService hashing = service(props);
+
+        String legacy = new BCryptPasswordEncoder(4).encode("Secret123");
+        assertTrue(hashing.matches("Secret123", legacy));
+        assertTrue(hashing.needsRehash(legacy));
+        assertTrue(hashing.needsRehash("{bcrypt}" + legacy));
+
+        String current = hashing.encode("Secret123");
+        assertTrue(current.startsWith("{bcrypt}$2a$05$"));
+        assertFalse(hashing.needsRehash(current));
+
+        CompletableFuture<String> rehashed = new CompletableFuture<>();
+        CompletableFuture<String> writerThread = new CompletableFuture<>();
+        hashing.encodeInBackground("Secret123", hash -> {
+            writerThread.complete(Thread.currentThread().getName());
+            rehashed.complete(hash);
+        });
+        String upgraded = rehashed.get(5, TimeUnit.SECONDS);
+        // The callback writes to the database, so it must not hold a hashing worker
+        assertEquals("pwd-rehash-write", writerThread.get());
+        assertTrue(hashing.matches("Secret123", upgraded));
+        assertFalse(hashing.needsRehash(upgraded));
+    }
+
+    @Test
+    void otherAlgorithmsVerifyButMigrateToTheConfiguredOne() {
+        PasswordHashingProperties props = new PasswordHashingProperties();
+        props.setCalibrate(false);
+        props.setAlgorithm(PasswordHashingProperties.Algorithm.ARGON2);
+        PasswordHashingService hashing = service(props);
+
+        String argon2 = hashing.encode("Secret123");
+        assertTrue(argon2.startsWith("{argon2}"));
+        assertTrue(hashing.matches("Secret123", argon2));
+        assertFalse(hashing.needsRehash(argon2));
+        assertTrue(hashing.needsRehash("{bcrypt}" + new BCryptPasswordEncoder(4).encode("Secret123")));
+    }
+
+    @Test
+    void saturatedPoolRejectsWithTooManyRequests() throws Exception {
+        PasswordHashingProperties props = new PasswordHashingProperties();
+        props.setThreads(1);
+        props.setQueueCapacity(1);
+        props.setMaxWaitMillis(200);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service = new PasswordHashingService(props, blockingEncoder(busy, release), registry);
+        try {
+            // Occupies the only worker, then the only queue slot
+            CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> service.matches("Secret123", "hash"));
+            busy.await(5, TimeUnit.SECONDS);
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> service.matches("Secret123", "hash"));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (registry.get("customer.password.hashing.queue.depth").gauge().value() < 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+
+            TooManyRequestsException full = assertThrows(TooManyRequestsException.class, () -> service.matches("Secret123", "hash"));
+            assertEquals("TOO_MANY_REQUESTS", full.getMessageCode());
+            ExecutionException timedOut = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TooManyRequestsException.class, timedOut.getCause());
+            // The caller of a task stuck on a worker gives up too
+            assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+            assertEquals(1, registry.get("customer.password.hashing.rejected").tag("reason", "queue_full").counter().count());
+            assertEquals(2, registry.get("customer.password.hashing.rejected").tag("reason", "timeout").counter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /** Holds every call until {@code release} opens, signalling {@code busy} when the first one starts. */
+    static PasswordEncoder blockingEncoder(CountDownLatch busy, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                await();
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                await();
+                return true;
+            }
+
+            private void await() {
+                busy.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    @Test
+    void calibrationPicksTheHighestWorkFactorWithinTarget() {
+        assertEquals(12, PasswordWorkFactorCalibrator.bcryptStrength(60, 10, 250, 14));
+        assertEquals(10, PasswordWorkFactorCalibrator.bcryptStrength(400, 10, 250, 14));
+        assertEquals(14, PasswordWorkFactorCalibrator.bcryptStrength(1, 10, 250, 14));
+        assertEquals(620_000, PasswordWorkFactorCalibrator.scale(125, 310_000, 250, 3_100_000));
+        assertEquals(310_000, PasswordWorkFactorCalibrator.scale(500, 310_000, 250, 3_100_000));
+    }
+}
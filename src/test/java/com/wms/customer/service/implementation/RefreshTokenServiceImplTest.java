@@ -0,0 +1,121 @@
+package com.wms.customer.service.implementation;
+
+import com.wms.customer.config.RefreshTokenProperties;
+import com.wms.customer.dto.response.TokenRefreshResponse;
+import com.wms.customer.entity.MstCustomer;
+import com.wms.customer.exception.BusinessException;
+import com.wms.customer.id.RandomCustomerIdGenerator;
+import com.wms.customer.metrics.OperationTimings;
+import com.wms.customer.repository.MstCustomerRepository;
+import com.wms.customer.repository.TrxRefreshTokenRepository;
+import com.wms.customer.security.JwtTokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+// Each service call commits on its own, as it does in production
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenServiceImplTest {
+    @Autowired private TrxRefreshTokenRepository tokenRepository;
+    @Autowired private MstCustomerRepository customerRepository;
+    @Autowired private TransactionTemplate tx;
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RefreshTokenServiceImpl service;
+    private UUID customerId;
+
+    @BeforeEach
+    void setUp() {
+        JwtTokenService jwt = Mockito.mock(JwtTokenService.class);
+        Mockito.when(jwt.createToken(any(), anyString(), anyString())).thenReturn("access-token");
+        service = new RefreshTokenServiceImpl(tokenRepository, customerRepository, jwt, new RandomCustomerIdGenerator(),
+                tx, new RefreshTokenProperties(), new OperationTimings(registry), registry, clock);
+        customerId = UUID.randomUUID();
+        customerRepository.save(MstCustomer.builder().customerId(customerId).name("Test")
+                .email(customerId + "@example.com").passwordHash("hash").build());
+    }
+
+    @Test
+    void refreshRotatesTheTokenAndStoresOnlyItsHash() {
+        String first = service.issue(customerId);
+        assertEquals(1, tokenRepository.findByTokenHash(RefreshTokenServiceImpl.hash(first)).stream().count());
+
+        TokenRefreshResponse res = service.refresh(first);
+        assertEquals("access-token", res.getToken());
+        assertEquals(customerId, res.getCustomerId());
+        assertNotEquals(first, res.getRefreshToken());
+        // The rotated token keeps working
+        assertEquals(customerId, service.refresh(res.getRefreshToken()).getCustomerId());
+    }
+
+    @Test
+    void replayingARotatedTokenRevokesTheWholeFamily() {
+        String first = service.issue(customerId);
+        String second = service.refresh(first).getRefreshToken();
+
+        assertThrows(BusinessException.class, () -> service.refresh(first));
+        // The legitimate client's current token died with the family
+        assertThrows(BusinessException.class, () -> service.refresh(second));
+        assertEquals(1.0, registry.get("customer.auth.refresh").tag("result", "reuse").counter().count());
+    }
+
+    @Test
+    void expiredUnknownAndRevokedTokensAreRejected() {
+        String expiring = service.issue(customerId);
+        clock.advance(new RefreshTokenProperties().getTtl().plusSeconds(1));
+        assertThrows(BusinessException.class, () -> service.refresh(expiring));
+        assertThrows(BusinessException.class, () -> service.refresh("not-a-token"));
+
+        String revoked = service.issue(customerId);
+        service.revokeAll(customerId);
+        BusinessException ex = assertThrows(BusinessException.class, () -> service.refresh(revoked));
+        assertEquals("AUTH_REFRESH_TOKEN_INVALID", ex.getMessageCode());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.wms.customer.service.implementation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wms.customer.cache.CustomerSnapshotCache;
+import com.wms.customer.cache.RiskProfileCatalog;
+import com.wms.customer.config.RiskProfileBulkProperties;
+import com.wms.customer.dto.request.RiskProfileAssignment;
+import com.wms.customer.dto.response.BulkRiskProfileResponse;
+import com.wms.customer.invalidation.CacheInvalidationBus;
+import com.wms.customer.repository.MstCustomerJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+
+class RiskProfileBulkServiceImplTest {
+    private final MstCustomerJdbcRepository jdbcRepository = Mockito.mock(MstCustomerJdbcRepository.class);
+    private final RiskProfileCatalog riskProfileCatalog = Mockito.mock(RiskProfileCatalog.class);
+    private final UUID knownProfile = UUID.randomUUID();
+    private RiskProfileBulkServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        RiskProfileBulkProperties props = new RiskProfileBulkProperties();
+        props.setChunkSize(2);
+        Mockito.when(riskProfileCatalog.contains(knownProfile)).thenReturn(true);
+        service = new RiskProfileBulkServiceImpl(jdbcRepository, riskProfileCatalog, Mockito.mock(CustomerSnapshotCache.class),
+                Mockito.mock(CacheInvalidationBus.class),
+                TransactionOperations.withoutTransaction(), props, new ObjectMapper());
+    }
+
+    @Test
+    void reportsPerRowFailuresFromNdjson() throws Exception {
+        UUID existing = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        Mockito.when(jdbcRepository.batchUpdateRiskProfiles(anyList()))
+                .thenAnswer(inv -> ((List<RiskProfileAssignment>) inv.getArgument(0)).stream()
+                        .mapToInt(a -> a.getCustomerId().equals(existing) ? 1 : 0).toArray());
+
+        String body = line(existing, knownProfile) + "\n"
+                + "not json\n"
+                + "\n"
+                + line(missing, knownProfile) + "\n"
+                + line(existing, UUID.randomUUID()) + "\n";
+        BulkRiskProfileResponse res = service.assignNdjson(stream(body));
+
+        assertEquals(4, res.getReceived());
+        assertEquals(1, res.getUpdated());
+        assertEquals(3, res.getFailed());
+        assertEquals(List.of(
+                new BulkRiskProfileResponse.RowFailure(2, null, RiskProfileBulkServiceImpl.INVALID_ROW),
+                new BulkRiskProfileResponse.RowFailure(4, missing, RiskProfileBulkServiceImpl.CUSTOMER_NOT_FOUND),
+                new BulkRiskProfileResponse.RowFailure(5, existing, RiskProfileBulkServiceImpl.RISK_PROFILE_NOT_FOUND)),
+                res.getFailures());
+    }
+
+    @Test
+    void fallsBackToRowByRowWhenBatchFails() throws Exception {
+        UUID good = UUID.randomUUID();
+        UUID bad = UUID.randomUUID();
+        Mockito.when(jdbcRepository.batchUpdateRiskProfiles(anyList())).thenThrow(new DataIntegrityViolationException("boom"));
+        Mockito.when(jdbcRepository.updateRiskProfile(good, knownProfile)).thenReturn(1);
+        Mockito.when(jdbcRepository.updateRiskProfile(bad, knownProfile)).thenThrow(new DataIntegrityViolationException("boom"));
+
+        BulkRiskProfileResponse res = service.assignJson(stream("[" + line(good, knownProfile) + "," + line(bad, knownProfile) + "]"));
+
+        assertEquals(1, res.getUpdated());
+        assertEquals(List.of(new BulkRiskProfileResponse.RowFailure(2, bad, RiskProfileBulkServiceImpl.UPDATE_FAILED)),
+                res.getFailures());
+    }
+
+    @Test
+    void malformedArrayElementsAreReportedPerRow() throws Exception {
+        UUID existing = UUID.randomUUID();
+        Mockito.when(jdbcRepository.batchUpdateRiskProfiles(anyList())).thenReturn(new int[]{1});
+
+        String body = "[" + line(existing, knownProfile) + ","
+                + "{\"customerId\":\"not-a-uuid\",\"riskProfileId\":\"" + knownProfile + "\"},"
+                + "42,"
+                + "null]";
+        BulkRiskProfileResponse res = service.assignJson(stream(body));
+
+        assertEquals(4, res.getReceived());
+        assertEquals(1, res.getUpdated());
+        assertEquals(List.of(
+                new BulkRiskProfileResponse.RowFailure(2, null, RiskProfileBulkServiceImpl.INVALID_ROW),
+                new BulkRiskProfileResponse.RowFailure(3, null, RiskProfileBulkServiceImpl.INVALID_ROW),
+                new BulkRiskProfileResponse.RowFailure(4, null, RiskProfileBulkServiceImpl.INVALID_ROW)),
+                res.getFailures());
+    }
+
+    @Test
+    void brokenSyntaxStopsAtTheBrokenRowAndKeepsEarlierOnes() throws Exception {
+        UUID existing = UUID.randomUUID();
+        Mockito.when(jdbcRepository.batchUpdateRiskProfiles(anyList())).thenReturn(new int[]{1});
+
+        BulkRiskProfileResponse res = service.assignJson(stream("[" + line(existing, knownProfile) + ",{\"customerId\": oops}, {}]"));
+
+        assertEquals(2, res.getReceived());
+        assertEquals(1, res.getUpdated());
+        assertEquals(List.of(new BulkRiskProfileResponse.RowFailure(2, null, RiskProfileBulkServiceImpl.INVALID_ROW)),
+                res.getFailures());
+        assertThrows(JsonProcessingException.class, () -> service.assignJson(stream("{\"customerId\":null}")));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String line(UUID customerId, UUID riskProfileId) {
+        return "{\"customerId\":\"" + customerId + "\",\"riskProfileId\":\"" + riskProfileId + "\"}";
+    }
+}
@@ -0,0 +1,71 @@
+package com.wms.customer.throttle;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Runs the upsert against PostgreSQL, since H2 does not support {@code on conflict ... do update}. */
+@Testcontainers(disabledWithoutDocker = true)
+class JdbcThrottleStoreTest {
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+    private final JdbcThrottleStore store = new JdbcThrottleStore(jdbcTemplate);
+
+    @BeforeAll
+    static void createSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword());
+        new ResourceDatabasePopulator(new ClassPathResource("db/schema/trx_login_throttle.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.update("delete from trx_login_throttle");
+    }
+
+    @Test
+    void burstIsGrantedThenRefusedWithRetryDelay() {
+        ThrottleLimit limit = new ThrottleLimit(3, 1000);
+
+        for (int i = 0; i < 3; i++) assertEquals(0, store.tryAcquire("e:a@example.com", limit, T0));
+        assertEquals(1000, store.tryAcquire("e:a@example.com", limit, T0));
+        assertEquals(400, store.tryAcquire("e:a@example.com", limit, T0 + 600));
+        assertEquals(0, store.tryAcquire("e:a@example.com", limit, T0 + 1000));
+        // Other keys have buckets of their own
+        assertEquals(0, store.tryAcquire("e:b@example.com", limit, T0));
+    }
+
+    @Test
+    void refusedAttemptsDoNotAdvanceTheBucket() {
+        ThrottleLimit limit = new ThrottleLimit(1, 1000);
+
+        assertEquals(0, store.tryAcquire("i:10.0.0.1", limit, T0));
+        for (int i = 0; i < 5; i++) assertEquals(1000, store.tryAcquire("i:10.0.0.1", limit, T0));
+        assertEquals(0, store.tryAcquire("i:10.0.0.1", limit, T0 + 1000));
+    }
+
+    @Test
+    void refilledRowsAreExpired() {
+        ThrottleLimit limit = new ThrottleLimit(2, 1000);
+        store.tryAcquire("a", limit, T0);
+        store.tryAcquire("b", limit, T0 + 5000);
+
+        store.expire(T0 + 1000);
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from trx_login_throttle", Integer.class));
+        assertEquals(0, store.tryAcquire("a", limit, T0 + 1000));
+    }
+}
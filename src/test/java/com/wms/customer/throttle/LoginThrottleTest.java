@@ -0,0 +1,106 @@
+package com.wms.customer.throttle;
+
+import com.wms.customer.config.LoginThrottleProperties;
+import com.wms.customer.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginThrottleTest {
+    private static final long T0 = 1_700_000_000_000L;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LoginThrottleProperties props = new LoginThrottleProperties();
+
+    @Test
+    void emailBucketAllowsBurstThenRefillsOneTokenPerPeriod() {
+        props.setEmail(new LoginThrottleProperties.Limit(3, Duration.ofMinutes(1)));
+        InMemoryThrottleStore store = new InMemoryThrottleStore(4, 1000, 1000, 64);
+
+        for (int i = 0; i < 3; i++) throttleAt(store, T0).check("user@example.com", "10.0.0." + i);
+        // Same address after trimming and case folding
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> throttleAt(store, T0).check("  User@Example.COM ", "10.0.0.9"));
+        assertEquals("AUTH_LOGIN_THROTTLED", ex.getMessageCode());
+        assertEquals(Duration.ofMinutes(1), ex.getRetryAfter());
+
+        assertDoesNotThrow(() -> throttleAt(store, T0 + 60_000).check("user@example.com", "10.0.0.9"));
+        assertThrows(TooManyRequestsException.class, () -> throttleAt(store, T0 + 60_000).check("user@example.com", "10.0.0.9"));
+        assertEquals(2, registry.get("customer.login.throttle").tag("key", "email").tag("result", "rejected").counter().count());
+    }
+
+    @Test
+    void ipBucketRejectsBeforeEmailIsCharged() {
+        props.setIpEnabled(true);
+        props.setIp(new LoginThrottleProperties.Limit(2, Duration.ofSeconds(10)));
+        InMemoryThrottleStore store = new InMemoryThrottleStore(4, 1000, 1000, 64);
+        LoginThrottle throttle = throttleAt(store, T0);
+
+        throttle.check("a@example.com", "10.0.0.1");
+        throttle.check("b@example.com", "10.0.0.1");
+        assertThrows(TooManyRequestsException.class, () -> throttle.check("c@example.com", "10.0.0.1"));
+
+        assertEquals(3, store.size());
+        throttle.check("c@example.com", "10.0.0.2");
+    }
+
+    @Test
+    void ipBucketIsNotChargedUnlessEnabled() {
+        props.setIp(new LoginThrottleProperties.Limit(1, Duration.ofSeconds(10)));
+        InMemoryThrottleStore store = new InMemoryThrottleStore(4, 1000, 1000, 64);
+        LoginThrottle throttle = throttleAt(store, T0);
+
+        // Everyone arrives from the gateway's address
+        throttle.check("a@example.com", "10.0.0.1");
+        throttle.check("b@example.com", "10.0.0.1");
+        assertEquals(2, store.size());
+        assertEquals(0, registry.get("customer.login.throttle").tag("key", "ip").tag("result", "allowed").counter().count());
+    }
+
+    @Test
+    void forwardedForIsUsedOnlyWhenTrusted() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+        LoginThrottle throttle = throttleAt(new InMemoryThrottleStore(1, 10, 1000, 8), T0);
+
+        assertEquals("10.0.0.1", throttle.clientIp(request));
+        props.setTrustForwardedFor(true);
+        assertEquals("203.0.113.7", throttle.clientIp(request));
+    }
+
+    @Test
+    void refilledKeysExpireAndFullStripesFailOpenForNewKeys() {
+        ThrottleLimit limit = new ThrottleLimit(1, 1000);
+        InMemoryThrottleStore store = new InMemoryThrottleStore(1, 2, 100, 16);
+
+        assertEquals(0, store.tryAcquire("a", limit, T0));
+        assertEquals(0, store.tryAcquire("b", limit, T0));
+        // Key space full: new keys are let through untracked, tracked ones keep their state
+        assertEquals(0, store.tryAcquire("c", limit, T0));
+        assertEquals(0, store.tryAcquire("d", limit, T0));
+        assertEquals(0, store.tryAcquire("d", limit, T0));
+        assertEquals(1000, store.tryAcquire("a", limit, T0));
+        assertEquals(3, store.overflowed());
+        assertEquals(2, store.size());
+
+        store.expire(T0 + 1200);
+        assertEquals(0, store.size());
+        assertEquals(0, store.tryAcquire("d", limit, T0 + 1200));
+        assertEquals(1000, store.tryAcquire("d", limit, T0 + 1200));
+        assertEquals(1, store.size());
+    }
+
+    private LoginThrottle throttleAt(ThrottleStore store, long millis) {
+        return new LoginThrottle(store, props, registry, Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+}
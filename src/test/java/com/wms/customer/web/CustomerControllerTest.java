@@ -1,36 +1,97 @@
 package com.wms.customer.web;
-import com.wms.customer.service.AuthService;
-import com.wms.customer.service.KycService;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.wms.customer.config.AccessLogProperties;
+import com.wms.customer.config.I18nProperties;
+import com.wms.customer.config.MessageSourceConfig;
+import com.wms.customer.config.PasswordHashingProperties;
+import com.wms.customer.i18n.LocalizedMessages;
+import com.wms.customer.security.PasswordHashingService;
+import com.wms.customer.service.interfacing.AuthService;
+import com.wms.customer.service.interfacing.KycService;
+import com.wms.customer.service.interfacing.RefreshTokenService;
+import com.wms.customer.service.interfacing.RiskProfileBulkService;
+import com.wms.customer.throttle.LoginThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = CustomerController.class)
+@Import({AccessLogProperties.class, I18nProperties.class, MessageSourceConfig.class, LocalizedMessages.class, PrecomputedResponses.class})
 class CustomerControllerTest {
     @Autowired private MockMvc mockMvc;
     @MockBean private AuthService authService;
     @MockBean private KycService kycService;
-    @MockBean private MessageSource messageSource;
+    @MockBean private RefreshTokenService refreshTokenService;
+    @MockBean private RiskProfileBulkService riskProfileBulkService;
+    @MockBean private LoginThrottle loginThrottle;
+
+    @Test
+    void saturatedHashingPoolAnswers429() throws Exception {
+        PasswordHashingProperties props = new PasswordHashingProperties();
+        props.setThreads(1);
+        props.setQueueCapacity(1);
+        props.setMaxWaitMillis(100);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder stuck = Mockito.mock(PasswordEncoder.class);
+        Mockito.when(stuck.matches(any(), any())).thenAnswer(inv -> {
+            release.await();
+            return true;
+        });
+        PasswordHashingService hashing = new PasswordHashingService(props, stuck, new SimpleMeterRegistry());
+        // The worker is stuck, so the login's verification waits out maxWaitMillis in the queue
+        Thread holder = new Thread(() -> hashing.matches("x", "y"));
+        holder.start();
+        Mockito.when(authService.login(any())).thenAnswer(inv -> {
+            hashing.matches("Secret123", "hash");
+            return null;
+        });
+        try {
+            mockMvc.perform(post("/v1/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"email\":\"a@a.com\",\"password\":\"Secret123\"}"))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.messageCodes[0]").value("TOO_MANY_REQUESTS"));
+        } finally {
+            release.countDown();
+            holder.join(5000);
+        }
+    }
+
+    @Test
+    void bulkBodyThatIsNotAnArrayIsRejected() throws Exception {
+        Mockito.when(riskProfileBulkService.assignJson(any())).thenThrow(new JsonParseException(null, "Expected a JSON array"));
+        mockMvc.perform(post("/v1/user/risk-profile/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
 
     @Test
     void checkEmailReturnsWrapper() throws Exception {
         Mockito.when(authService.checkEmail(anyString())).thenReturn(true);
-        Mockito.when(messageSource.getMessage(Mockito.anyString(), Mockito.isNull(), Mockito.any())).thenReturn("ok");
         mockMvc.perform(post("/v1/user/check-email")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content("{\"email\":\"a@a.com\"}"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.data.exists").value(true));
+                .andExpect(jsonPath("$.data.exists").value(true))
+                .andExpect(jsonPath("$.messageCodes[0]").value("EMAIL_CHECKED"))
+                .andExpect(jsonPath("$.messages[0]").value("Email status retrieved"));
     }
 }
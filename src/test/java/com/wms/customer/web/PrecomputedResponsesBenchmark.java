@@ -0,0 +1,65 @@
+package com.wms.customer.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wms.customer.config.I18nProperties;
+import com.wms.customer.config.MessageSourceConfig;
+import com.wms.customer.i18n.LocalizedMessages;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders/sec of an {@code AUTH_INVALID_CREDENTIALS} error body: building a {@link ResponseWrapper} and serialising it
+ * with Jackson (the previous path) against the pre-encoded bytes. Run {@link #main}; add {@code -prof gc} for
+ * allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PrecomputedResponsesBenchmark {
+    private static final String CODE = "AUTH_INVALID_CREDENTIALS";
+
+    private final Locale locale = Locale.forLanguageTag("id-ID");
+    private ObjectMapper objectMapper;
+    private LocalizedMessages messages;
+    private PrecomputedResponses responses;
+
+    @Setup
+    public void setUp() {
+        I18nProperties props = new I18nProperties();
+        objectMapper = new ObjectMapper();
+        messages = new LocalizedMessages(new MessageSourceConfig().messageSource(props), props);
+        responses = new PrecomputedResponses(objectMapper, messages);
+    }
+
+    @Benchmark
+    public byte[] wrapperThroughJackson() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponseUtil.error(CODE, messages.get(CODE, locale)));
+    }
+
+    @Benchmark
+    public byte[] precomputed() {
+        return responses.body(false, CODE, locale, PrecomputedResponses.Shape.NONE);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PrecomputedResponsesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,47 @@
+package com.wms.customer.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wms.customer.config.I18nProperties;
+import com.wms.customer.config.MessageSourceConfig;
+import com.wms.customer.i18n.LocalizedMessages;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PrecomputedResponsesTest {
+    private static final Locale ID = Locale.forLanguageTag("id-ID");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final I18nProperties props = new I18nProperties();
+    private final LocalizedMessages messages = new LocalizedMessages(new MessageSourceConfig().messageSource(props), props);
+    private final PrecomputedResponses responses = new PrecomputedResponses(objectMapper, messages);
+
+    @Test
+    void bodiesMatchJacksonOutputAndAreReused() throws Exception {
+        byte[] error = responses.body(false, "AUTH_INVALID_CREDENTIALS", ID, PrecomputedResponses.Shape.NONE);
+        assertArrayEquals(objectMapper.writeValueAsBytes(ApiResponseUtil.error("AUTH_INVALID_CREDENTIALS",
+                messages.get("AUTH_INVALID_CREDENTIALS", ID))), error);
+        assertSame(error, responses.body(false, "AUTH_INVALID_CREDENTIALS", ID, PrecomputedResponses.Shape.NONE));
+
+        byte[] exists = responses.body(true, "EMAIL_CHECKED", Locale.ENGLISH, PrecomputedResponses.Shape.EXISTS_TRUE);
+        assertArrayEquals(objectMapper.writeValueAsBytes(ApiResponseUtil.success(Map.of("exists", true), "EMAIL_CHECKED",
+                messages.get("EMAIL_CHECKED", Locale.ENGLISH))), exists);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(ApiResponseUtil.success(null, null, null)),
+                responses.body(true, null, Locale.ENGLISH, PrecomputedResponses.Shape.NONE));
+    }
+
+    @Test
+    void reloadDropsCachedBodies() {
+        byte[] before = responses.body(false, "EMAIL_ALREADY_EXISTS", Locale.ENGLISH, PrecomputedResponses.Shape.NONE);
+        messages.reload();
+        byte[] after = responses.body(false, "EMAIL_ALREADY_EXISTS", Locale.ENGLISH, PrecomputedResponses.Shape.NONE);
+        assertNotSame(before, after);
+        assertArrayEquals(before, after);
+    }
+}
@@ -0,0 +1,18 @@
+-- Tables owned by the wider platform's schema, recreated here so context tests can run against H2.
+create table if not exists mst_riskprofiles (
+    risk_profile_id uuid not null primary key,
+    profile_type    varchar(255),
+    score_min       integer,
+    score_max       integer
+);
+create table if not exists mst_customer (
+    customer_id     uuid not null primary key,
+    name            varchar(255),
+    email           varchar(255) unique,
+    password_hash   varchar(255),
+    nik             varchar(255),
+    address         varchar(255),
+    id_risk_profile uuid,
+    dob             date,
+    pob             varchar(255)
+);